@@ -0,0 +1,32 @@
+package org.example.fpoesudoku.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmark jar. It accepts the usual JMH command-line options and
+ * always adds the GC profiler, so every result reports the allocation rate next to the
+ * throughput and the average time.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+public class BenchmarkRunner {
+
+    /**
+     * Runs the benchmarks selected on the command line (all of them by default).
+     *
+     * @param args JMH options, for example a benchmark name or {@code -p size=NINE}.
+     * @throws Exception if the options are invalid or a benchmark fails.
+     */
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+
+}
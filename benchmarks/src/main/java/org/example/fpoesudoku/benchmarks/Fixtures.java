@@ -0,0 +1,48 @@
+package org.example.fpoesudoku.benchmarks;
+
+import org.example.fpoesudoku.models.BoardSize;
+import org.example.fpoesudoku.models.Difficulty;
+import org.example.fpoesudoku.models.Puzzle;
+import org.example.fpoesudoku.models.SudokuGenerator;
+
+import java.util.Random;
+
+/**
+ * Boards shared by the benchmarks. Every fixture is built from a fixed seed, so all runs
+ * (and all engines within a run) measure exactly the same puzzles.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+final class Fixtures {
+
+    static final long SEED = 20240501L;
+
+    private Fixtures() {
+    }
+
+    /**
+     * Generates the reference puzzle of a size and difficulty.
+     *
+     * @param boardSize  the geometry of the board.
+     * @param difficulty the difficulty level.
+     * @return the puzzle and its solution.
+     */
+    static Puzzle puzzle(BoardSize boardSize, Difficulty difficulty) {
+        return new SudokuGenerator().generate(boardSize, difficulty, new Random(SEED));
+    }
+
+    /**
+     * Copies a grid, so that a benchmark can modify it without changing the fixture.
+     *
+     * @param grid the grid to copy.
+     * @return the copy.
+     */
+    static int[][] copy(int[][] grid) {
+        int[][] copy = new int[grid.length][];
+        for (int row = 0; row < grid.length; row++) {
+            copy[row] = grid[row].clone();
+        }
+        return copy;
+    }
+
+}
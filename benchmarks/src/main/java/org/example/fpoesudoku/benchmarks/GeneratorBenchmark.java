@@ -0,0 +1,99 @@
+package org.example.fpoesudoku.benchmarks;
+
+import org.example.fpoesudoku.models.Board;
+import org.example.fpoesudoku.models.BoardSize;
+import org.example.fpoesudoku.models.Difficulty;
+import org.example.fpoesudoku.models.DifficultyGrader;
+import org.example.fpoesudoku.models.Puzzle;
+import org.example.fpoesudoku.models.Sudoku;
+import org.example.fpoesudoku.models.SudokuGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generation benchmarks: removing clues from a fixed solution, grading a puzzle, generating
+ * a puzzle of a given difficulty, and the whole "new game" path of the controller when no
+ * pre-generated puzzle is available (generate, then load the model and the boards).
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GeneratorBenchmark {
+
+    @Param({"SIX", "NINE", "SIXTEEN"})
+    public String size;
+
+    @Param({"MEDIUM"})
+    public String difficulty;
+
+    private BoardSize boardSize;
+    private Difficulty level;
+    private SudokuGenerator generator;
+    private Puzzle puzzle;
+    private Random random;
+
+    /**
+     * Builds the generator and the reference puzzle.
+     */
+    @Setup
+    public void setUp() {
+        boardSize = BoardSize.valueOf(size);
+        level = Difficulty.valueOf(difficulty);
+        generator = new SudokuGenerator();
+        puzzle = Fixtures.puzzle(boardSize, level);
+        random = new Random(Fixtures.SEED);
+    }
+
+    /**
+     * @return the clues left after removing cells from the reference solution.
+     */
+    @Benchmark
+    public int[][] generatePartial() {
+        return generator.generatePartial(boardSize, puzzle.getSolution(), level.cellsToRemove(boardSize), random);
+    }
+
+    /**
+     * @return the difficulty of the reference puzzle.
+     */
+    @Benchmark
+    public Difficulty grade() {
+        return DifficultyGrader.forCurrentThread().grade(boardSize, puzzle.getClues());
+    }
+
+    /**
+     * @return a new puzzle of the requested difficulty.
+     */
+    @Benchmark
+    public Puzzle generate() {
+        return generator.generate(boardSize, level, random);
+    }
+
+    /**
+     * @return the board shown to the player when a game starts without a ready puzzle.
+     */
+    @Benchmark
+    public int[][] newGame() {
+        Puzzle next = generator.generate(boardSize, level, random);
+        Sudoku sudoku = new Sudoku(boardSize);
+        sudoku.setSudoku(next.getSolution());
+        return Board.of(boardSize, next.getClues()).toGrid();
+    }
+
+}
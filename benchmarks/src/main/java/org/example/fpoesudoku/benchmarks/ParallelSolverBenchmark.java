@@ -0,0 +1,93 @@
+package org.example.fpoesudoku.benchmarks;
+
+import org.example.fpoesudoku.models.BoardSize;
+import org.example.fpoesudoku.models.DancingLinksSolver;
+import org.example.fpoesudoku.models.Difficulty;
+import org.example.fpoesudoku.models.ParallelSolver;
+import org.example.fpoesudoku.models.PuzzleFormat;
+import org.example.fpoesudoku.models.SudokuSolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scaling of the {@link ParallelSolver} with its number of worker threads, on the work it
+ * is meant for: counting every solution of an open board, and solving a large puzzle.
+ * {@code threads=0} runs the sequential {@link DancingLinksSolver} as the baseline.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelSolverBenchmark {
+
+    // A 6x6 board with only its first row given: 39168 solutions
+    private static final String OPEN_6X6 = "123456000000000000000000000000000000";
+
+    @Param({"0", "1", "2", "4", "8"})
+    public int threads;
+
+    private ParallelSolver parallel;
+    private SudokuSolver engine;
+    private int[][] open;
+    private int[][] large;
+
+    /**
+     * Builds the engine and the boards.
+     */
+    @Setup
+    public void setUp() {
+        if (threads > 0) {
+            parallel = new ParallelSolver(threads);
+            engine = parallel;
+        } else {
+            engine = new DancingLinksSolver();
+        }
+        open = PuzzleFormat.parse(OPEN_6X6);
+        large = Fixtures.puzzle(BoardSize.SIXTEEN, Difficulty.HARD).getClues();
+    }
+
+    /**
+     * Releases the worker threads.
+     */
+    @TearDown
+    public void tearDown() {
+        if (parallel != null) {
+            parallel.close();
+        }
+    }
+
+    /**
+     * @return the number of solutions of the open 6x6 board, counted exhaustively.
+     */
+    @Benchmark
+    public long countAllSolutions() {
+        return engine.countSolutions(BoardSize.SIX, open, Long.MAX_VALUE);
+    }
+
+    /**
+     * @return the solved 16x16 reference puzzle.
+     */
+    @Benchmark
+    public int[][] solveLargePuzzle() {
+        int[][] grid = Fixtures.copy(large);
+        engine.solve(BoardSize.SIXTEEN, grid, null);
+        return grid;
+    }
+
+}
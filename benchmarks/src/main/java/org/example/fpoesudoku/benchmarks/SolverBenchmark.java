@@ -0,0 +1,86 @@
+package org.example.fpoesudoku.benchmarks;
+
+import org.example.fpoesudoku.models.BacktrackingSolver;
+import org.example.fpoesudoku.models.BoardSize;
+import org.example.fpoesudoku.models.DancingLinksSolver;
+import org.example.fpoesudoku.models.Difficulty;
+import org.example.fpoesudoku.models.Sudoku;
+import org.example.fpoesudoku.models.SudokuSolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Solving benchmarks: filling an empty grid ({@link Sudoku#solveSudoku}), solving a
+ * generated medium puzzle and proving that it has a unique solution, for every engine.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SolverBenchmark {
+
+    @Param({"SIX", "NINE", "SIXTEEN", "TWENTY_FIVE"})
+    public String size;
+
+    @Param({"backtracking", "dlx"})
+    public String solver;
+
+    private BoardSize boardSize;
+    private SudokuSolver engine;
+    private int[][] puzzle;
+
+    /**
+     * Builds the engine and the reference puzzle.
+     */
+    @Setup
+    public void setUp() {
+        boardSize = BoardSize.valueOf(size);
+        engine = solver.equals("dlx") ? new DancingLinksSolver() : new BacktrackingSolver();
+        puzzle = Fixtures.puzzle(boardSize, Difficulty.MEDIUM).getClues();
+    }
+
+    /**
+     * @return a complete random board, as built when a game starts.
+     */
+    @Benchmark
+    public Sudoku solveEmptyGrid() {
+        Sudoku sudoku = new Sudoku(boardSize);
+        sudoku.setSolver(engine);
+        sudoku.solveSudoku();
+        return sudoku;
+    }
+
+    /**
+     * @return the solved reference puzzle.
+     */
+    @Benchmark
+    public int[][] solvePuzzle() {
+        int[][] grid = Fixtures.copy(puzzle);
+        engine.solve(boardSize, grid, null);
+        return grid;
+    }
+
+    /**
+     * @return the number of solutions of the reference puzzle, counted up to 2.
+     */
+    @Benchmark
+    public long checkUniqueness() {
+        return engine.countSolutions(boardSize, puzzle, 2);
+    }
+
+}
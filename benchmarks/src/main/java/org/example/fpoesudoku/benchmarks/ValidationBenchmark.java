@@ -0,0 +1,107 @@
+package org.example.fpoesudoku.benchmarks;
+
+import org.example.fpoesudoku.models.BoardSize;
+import org.example.fpoesudoku.models.Difficulty;
+import org.example.fpoesudoku.models.Puzzle;
+import org.example.fpoesudoku.models.Sudoku;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validation benchmarks. The move checks ask every (row, value), (column, value) and
+ * (quadrant, value) pair of a puzzle, and the full-board check validates its solution the
+ * way the "Validar" button does.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+
+    @Param({"SIX", "NINE", "SIXTEEN", "TWENTY_FIVE"})
+    public String size;
+
+    private BoardSize boardSize;
+    private Sudoku sudoku;
+    private int[][] solution;
+
+    /**
+     * Loads the reference puzzle into a {@link Sudoku}.
+     */
+    @Setup
+    public void setUp() {
+        boardSize = BoardSize.valueOf(size);
+        Puzzle puzzle = Fixtures.puzzle(boardSize, Difficulty.MEDIUM);
+        sudoku = new Sudoku(boardSize);
+        sudoku.setSudoku(Fixtures.copy(puzzle.getClues()));
+        solution = puzzle.getSolution();
+    }
+
+    /**
+     * @return the number of values that could still go in each row.
+     */
+    @Benchmark
+    public int validateRows() {
+        int legal = 0;
+        for (int row = 0; row < boardSize.getSize(); row++) {
+            for (int value = 1; value <= boardSize.getSize(); value++) {
+                if (sudoku.validateRow(row, value)) legal++;
+            }
+        }
+        return legal;
+    }
+
+    /**
+     * @return the number of values that could still go in each column.
+     */
+    @Benchmark
+    public int validateColumns() {
+        int legal = 0;
+        for (int col = 0; col < boardSize.getSize(); col++) {
+            for (int value = 1; value <= boardSize.getSize(); value++) {
+                if (sudoku.validateColumn(col, value)) legal++;
+            }
+        }
+        return legal;
+    }
+
+    /**
+     * @return the number of values that could still go in each quadrant.
+     */
+    @Benchmark
+    public int validateQuadrants() {
+        int legal = 0;
+        for (int row = 0; row < boardSize.getSize(); row += boardSize.getBoxRows()) {
+            for (int col = 0; col < boardSize.getSize(); col += boardSize.getBoxColumns()) {
+                for (int value = 1; value <= boardSize.getSize(); value++) {
+                    if (sudoku.validateQuadrant(row, col, value)) legal++;
+                }
+            }
+        }
+        return legal;
+    }
+
+    /**
+     * @return whether the solution is a complete, valid board.
+     */
+    @Benchmark
+    public boolean validateCompleteBoard() {
+        return Sudoku.isComplete(boardSize, solution);
+    }
+
+}
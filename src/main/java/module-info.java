@@ -2,6 +2,8 @@ module org.example.fpoesudoku {
     requires javafx.controls;
     requires javafx.fxml;
     requires java.desktop;
+    requires jdk.httpserver;
+    requires jdk.jfr;
 
 
     opens org.example.fpoesudoku to javafx.fxml;
@@ -9,6 +11,9 @@ module org.example.fpoesudoku {
     opens org.example.fpoesudoku.models to javafx.fxml;
     exports org.example.fpoesudoku.views;
     opens org.example.fpoesudoku.views to javafx.fxml;
+    exports org.example.fpoesudoku.cli;
+    exports org.example.fpoesudoku.server;
+    exports org.example.fpoesudoku.metrics;
     exports org.example.fpoesudoku.controllers;
     opens org.example.fpoesudoku.controllers to javafx.fxml;
     exports org.example.fpoesudoku;
@@ -0,0 +1,492 @@
+package org.example.fpoesudoku.cli;
+
+import org.example.fpoesudoku.models.BacktrackingSolver;
+import org.example.fpoesudoku.models.BoardSize;
+import org.example.fpoesudoku.models.DancingLinksSolver;
+import org.example.fpoesudoku.models.Difficulty;
+import org.example.fpoesudoku.models.DifficultyGrader;
+import org.example.fpoesudoku.models.ParallelSolver;
+import org.example.fpoesudoku.models.Puzzle;
+import org.example.fpoesudoku.models.PuzzleCorpus;
+import org.example.fpoesudoku.models.PuzzleFormat;
+import org.example.fpoesudoku.models.SearchMonitor;
+import org.example.fpoesudoku.models.Sudoku;
+import org.example.fpoesudoku.models.SudokuConstraints;
+import org.example.fpoesudoku.models.SudokuGenerator;
+import org.example.fpoesudoku.models.SudokuSolver;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Headless command-line entry point for processing boards in bulk, without starting JavaFX.
+ * Boards are read one per line in the {@link PuzzleFormat} text format, from a file or the
+ * standard input, and results are written one per line in the same order:
+ * <ul>
+ *     <li>{@code solve}: the solved board, or {@code unsolvable}.</li>
+ *     <li>{@code validate}: the board followed by {@code unique}, {@code multiple} or {@code none},
+ *     according to its number of solutions.</li>
+ *     <li>{@code generate}: {@code --count} new puzzles of the given size and difficulty. Each
+ *     puzzle has its own seed; the seeds are drawn from {@code --seed} when it is given, so
+ *     the same options always print the same puzzles.</li>
+ *     <li>{@code pack}: a {@link PuzzleCorpus} file built from lines holding a puzzle and,
+ *     optionally, its solution. Puzzles are graded by the {@link DifficultyGrader}, and those
+ *     without a unique solution are rejected.</li>
+ * </ul>
+ * Lines are processed in chunks by a fixed pool of worker threads. Only a bounded number of
+ * chunks is in flight at once, so arbitrarily long inputs are streamed in constant memory.
+ * Progress and throughput statistics are reported on the standard error. With
+ * {@code --solver parallel} each board is also split across every core, which pays off for
+ * large boards and exhaustive counts; use it with {@code --threads 1}.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+public class SudokuCli {
+
+    private static final int CHUNK_SIZE = 256;          // Boards per task when solving or validating
+    private static final int GENERATE_CHUNK_SIZE = 4;   // Puzzles per task when generating
+    private static final int CHUNKS_PER_THREAD = 4;     // Chunks in flight for every worker
+    private static final long PROGRESS_INTERVAL_NANOS = 5_000_000_000L;
+
+    private static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: SudokuCli <solve|validate|generate|pack> [options]",
+            "  --input FILE       read boards from FILE instead of the standard input",
+            "  --output FILE      write results to FILE instead of the standard output",
+            "  --threads N        number of worker threads (default: number of cores)",
+            "  --solver NAME      dlx, backtracking or parallel (default: dlx)",
+            "  --size N           generate, pack: side of the board (default: 9)",
+            "  --difficulty NAME  generate: easy, medium, hard or expert (default: medium)",
+            "  --count N          generate: number of puzzles (default: 1)",
+            "  --seed N           generate: seed of the whole run (default: random)");
+
+    private final Options options;
+    private final LongAdder errors = new LongAdder();
+
+    /**
+     * Creates a command-line run.
+     *
+     * @param options the parsed command-line options.
+     */
+    private SudokuCli(Options options) {
+        this.options = options;
+    }
+
+    /**
+     * Runs a command.
+     *
+     * @param args the command followed by its options.
+     */
+    public static void main(String[] args) {
+        Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+
+        try {
+            boolean ok = new SudokuCli(options).run();
+            System.exit(ok ? 0 : 1);
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("I/O error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Runs the selected command over the whole input.
+     *
+     * @return {@code true} if every line was processed without errors.
+     * @throws IOException if the input or the output cannot be accessed.
+     */
+    private boolean run() throws IOException {
+        BufferedReader input = null;
+        Supplier<List<String>> chunks;
+        if (options.command.equals("generate")) {
+            long[] remaining = {options.count}; // Only read by the main thread
+            Random seeds = new Random(options.seed); // Seeds are drawn in order, so any thread count gives the same puzzles
+            chunks = () -> {
+                int count = (int) Math.min(GENERATE_CHUNK_SIZE, remaining[0]);
+                remaining[0] -= count;
+                List<String> chunk = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    chunk.add(Long.toString(seeds.nextLong()));
+                }
+                return count == 0 ? null : chunk;
+            };
+        } else {
+            input = options.input == null
+                    ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                    : Files.newBufferedReader(options.input);
+            BufferedReader reader = input;
+            chunks = () -> readChunk(reader);
+        }
+
+        try {
+            if (options.command.equals("pack")) {
+                try (PuzzleCorpus.Writer corpus = PuzzleCorpus.create(options.output, options.boardSize)) {
+                    process(chunks, this::pack, corpus::add);
+                }
+                return errors.sum() == 0;
+            }
+
+            Function<String, String> task = switch (options.command) {
+                case "solve" -> this::solve;
+                case "validate" -> this::validate;
+                default -> line -> generate(Long.parseLong(line));
+            };
+            BufferedWriter output = options.output == null
+                    ? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))
+                    : Files.newBufferedWriter(options.output);
+            try {
+                process(chunks, task, line -> {
+                    output.write(line);
+                    output.newLine();
+                });
+                output.flush();
+            } finally {
+                if (options.output != null) {
+                    output.close();
+                }
+            }
+            return errors.sum() == 0;
+        } finally {
+            if (input != null) {
+                input.close();
+            }
+        }
+    }
+
+    /**
+     * Feeds the chunks to the worker threads and hands their results to the sink in input
+     * order. When the maximum number of chunks is in flight, the oldest one is waited for and
+     * written before the next one is read.
+     *
+     * @param chunks supplies the next chunk of lines, or {@code null} at the end of the input.
+     * @param task   turns an input line into a result, or {@code null} to skip the line.
+     * @param sink   receives the results, always from the calling thread.
+     * @param <T>    the type of the results.
+     * @throws IOException if the sink cannot write a result.
+     */
+    private <T> void process(Supplier<List<String>> chunks, Function<String, T> task, Sink<T> sink)
+            throws IOException {
+        ExecutorService workers = Executors.newFixedThreadPool(options.threads, runnable -> {
+            Thread thread = new Thread(runnable, "sudoku-cli-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Deque<Future<List<T>>> inFlight = new ArrayDeque<>();
+        int maxInFlight = options.threads * CHUNKS_PER_THREAD;
+
+        long start = System.nanoTime();
+        long lastReport = start;
+        long processed = 0;
+        try {
+            List<String> chunk;
+            while ((chunk = chunks.get()) != null) {
+                List<String> lines = chunk;
+                inFlight.addLast(workers.submit(() -> {
+                    List<T> results = new ArrayList<>(lines.size());
+                    for (String line : lines) {
+                        results.add(task.apply(line));
+                    }
+                    return results;
+                }));
+                while (inFlight.size() >= maxInFlight) {
+                    processed += write(inFlight.removeFirst(), sink);
+                }
+                if (System.nanoTime() - lastReport >= PROGRESS_INTERVAL_NANOS) {
+                    lastReport = System.nanoTime();
+                    report("progress", processed, lastReport - start);
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                processed += write(inFlight.removeFirst(), sink);
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+        report(options.command, processed, System.nanoTime() - start);
+    }
+
+    /**
+     * Waits for a chunk to finish and hands its results to the sink.
+     *
+     * @return the number of lines processed.
+     */
+    private <T> int write(Future<List<T>> pending, Sink<T> sink) throws IOException {
+        List<T> results;
+        try {
+            results = pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the workers", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A worker failed", e.getCause());
+        }
+        for (T result : results) {
+            if (result != null) {
+                sink.accept(result);
+            }
+        }
+        return results.size();
+    }
+
+    /**
+     * Prints the number of lines processed and the throughput on the standard error.
+     */
+    private void report(String label, long processed, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        System.err.printf(Locale.ROOT, "%s: %d boards in %.2f s (%.0f boards/s), %d errors, %d threads%n",
+                label, processed, seconds, seconds > 0 ? processed / seconds : 0.0, errors.sum(), options.threads);
+    }
+
+    /**
+     * Reads up to {@link #CHUNK_SIZE} lines, skipping blank lines and {@code #} comments.
+     *
+     * @return the lines, or {@code null} at the end of the input.
+     */
+    private static List<String> readChunk(BufferedReader reader) {
+        List<String> lines = new ArrayList<>(CHUNK_SIZE);
+        try {
+            String line;
+            while (lines.size() < CHUNK_SIZE && (line = reader.readLine()) != null) {
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                lines.add(line);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return lines.isEmpty() ? null : lines;
+    }
+
+    /**
+     * Returns the board of a line: its first word, so the output of a previous run can be read back.
+     */
+    private static String board(String line) {
+        int space = line.indexOf(' ');
+        return space < 0 ? line : line.substring(0, space);
+    }
+
+    /**
+     * Solves a board line.
+     */
+    private String solve(String line) {
+        line = board(line);
+        try {
+            int[][] grid = PuzzleFormat.parse(line);
+            BoardSize boardSize = PuzzleFormat.sizeOf(line.length());
+            return options.solver.solve(boardSize, grid, null) ? PuzzleFormat.format(grid) : "unsolvable";
+        } catch (IllegalArgumentException e) {
+            return error(e);
+        }
+    }
+
+    /**
+     * Classifies a board line by its number of solutions.
+     */
+    private String validate(String line) {
+        line = board(line);
+        try {
+            int[][] grid = PuzzleFormat.parse(line);
+            BoardSize boardSize = PuzzleFormat.sizeOf(line.length());
+            long solutions = options.solver.countSolutions(boardSize, grid, 2);
+            return line + " " + (solutions == 0 ? "none" : solutions == 1 ? "unique" : "multiple");
+        } catch (IllegalArgumentException e) {
+            return error(e);
+        }
+    }
+
+    /**
+     * Generates one puzzle line.
+     *
+     * @param seed the seed of the puzzle.
+     */
+    private String generate(long seed) {
+        int[][] clues = options.generator.generate(options.boardSize, options.difficulty, seed,
+                SearchMonitor.NONE).getClues();
+        return PuzzleFormat.format(clues);
+    }
+
+    /**
+     * Reads a puzzle line for the corpus: the puzzle and, optionally, its solution.
+     * The solution is computed when missing, and the puzzle is graded.
+     *
+     * @return the puzzle, or {@code null} if the line is rejected.
+     */
+    private Puzzle pack(String line) {
+        String[] words = line.split("\\s+");
+        try {
+            int[][] clues = PuzzleFormat.parse(words[0]);
+            BoardSize boardSize = PuzzleFormat.sizeOf(words[0].length());
+            if (boardSize != options.boardSize) {
+                throw new IllegalArgumentException("Expected a " + options.boardSize + " puzzle, got " + boardSize);
+            }
+            if (!new SudokuConstraints(boardSize).load(clues)) {
+                throw new IllegalArgumentException("The clues repeat a value in a row, column or region");
+            }
+
+            // A puzzle the grader finishes by logic alone is unique, otherwise count its solutions
+            Difficulty difficulty = DifficultyGrader.forCurrentThread().grade(boardSize, clues);
+            if (difficulty == Difficulty.HARD && options.solver.countSolutions(boardSize, clues, 2) != 1) {
+                throw new IllegalArgumentException("The puzzle does not have a unique solution");
+            }
+
+            int[][] solution = PuzzleFormat.parse(words.length > 1 ? words[1] : words[0]);
+            if (words.length == 1) {
+                if (!options.solver.solve(boardSize, solution, null)) {
+                    throw new IllegalArgumentException("The puzzle has no solution");
+                }
+            } else if (!matches(boardSize, clues, solution)) {
+                throw new IllegalArgumentException("The solution does not solve the puzzle");
+            }
+            return new Puzzle(boardSize, difficulty, clues, solution);
+        } catch (IllegalArgumentException e) {
+            error(e);
+            return null;
+        }
+    }
+
+    /**
+     * Checks that a solution is a complete board that keeps every clue of the puzzle.
+     */
+    private static boolean matches(BoardSize boardSize, int[][] clues, int[][] solution) {
+        if (solution.length != clues.length || !Sudoku.isComplete(boardSize, solution)) {
+            return false;
+        }
+        for (int row = 0; row < clues.length; row++) {
+            for (int col = 0; col < clues.length; col++) {
+                if (clues[row][col] != 0 && clues[row][col] != solution[row][col]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Counts an invalid line and returns its error message.
+     */
+    private String error(IllegalArgumentException e) {
+        errors.increment();
+        String message = "error: " + e.getMessage();
+        if (options.command.equals("pack")) {
+            System.err.println(message); // The output is binary, report the line on the standard error
+        }
+        return message;
+    }
+
+    /**
+     * Receives the results of the workers, in input order.
+     *
+     * @param <T> the type of the results.
+     */
+    @FunctionalInterface
+    private interface Sink<T> {
+        void accept(T result) throws IOException;
+    }
+
+    /**
+     * Parsed command-line options.
+     */
+    private static class Options {
+
+        private String command;
+        private Path input;
+        private Path output;
+        private int threads = Runtime.getRuntime().availableProcessors();
+        private SudokuSolver solver = new DancingLinksSolver();
+        private SudokuGenerator generator;
+        private BoardSize boardSize = BoardSize.NINE;
+        private Difficulty difficulty = Difficulty.MEDIUM;
+        private long count = 1;
+        private long seed = SudokuGenerator.newSeed();
+
+        /**
+         * Parses the command line.
+         *
+         * @param args the command followed by its options.
+         * @return the options.
+         * @throws IllegalArgumentException if the command or an option is not valid.
+         */
+        static Options parse(String[] args) {
+            if (args.length == 0) {
+                throw new IllegalArgumentException("Missing command");
+            }
+            Options options = new Options();
+            options.command = args[0];
+            if (!List.of("solve", "validate", "generate", "pack").contains(options.command)) {
+                throw new IllegalArgumentException("Unknown command: " + options.command);
+            }
+
+            for (int i = 1; i < args.length; i++) {
+                String option = args[i];
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + option);
+                }
+                String value = args[++i];
+                try {
+                    switch (option) {
+                        case "--input" -> options.input = Path.of(value);
+                        case "--output" -> options.output = Path.of(value);
+                        case "--threads" -> options.threads = positive(option, Integer.parseInt(value));
+                        case "--solver" -> options.solver = switch (value) {
+                            case "dlx" -> new DancingLinksSolver();
+                            case "backtracking" -> new BacktrackingSolver();
+                            case "parallel" -> new ParallelSolver();
+                            default -> throw new IllegalArgumentException("Unknown solver: " + value);
+                        };
+                        case "--size" -> options.boardSize = BoardSize.fromSize(Integer.parseInt(value));
+                        case "--difficulty" -> options.difficulty = Difficulty.valueOf(value.toUpperCase(Locale.ROOT));
+                        case "--count" -> options.count = positive(option, Long.parseLong(value));
+                        case "--seed" -> options.seed = Long.parseLong(value);
+                        default -> throw new IllegalArgumentException("Unknown option: " + option);
+                    }
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid number for " + option + ": " + value);
+                }
+            }
+            if (options.command.equals("pack") && options.output == null) {
+                throw new IllegalArgumentException("pack needs an --output file");
+            }
+            options.generator = new SudokuGenerator(options.solver);
+            return options;
+        }
+
+        /**
+         * Checks that a numeric option is at least 1.
+         */
+        private static <N extends Number> N positive(String option, N value) {
+            if (value.longValue() < 1) {
+                throw new IllegalArgumentException(option + " must be at least 1");
+            }
+            return value;
+        }
+
+    }
+
+}
@@ -0,0 +1,108 @@
+package org.example.fpoesudoku.controllers;
+
+import javafx.concurrent.Task;
+import org.example.fpoesudoku.models.SearchMonitor;
+import org.example.fpoesudoku.models.SearchProgress;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Runs a solving or generation search off the JavaFX thread.
+ * The search gets a {@link SearchProgress} monitor tied to this task: {@link #cancel()}
+ * stops it at its next check, and so does the time limit, in which case the task fails
+ * with a {@link TimeoutException}. While it runs, the {@link #messageProperty() message}
+ * reports the nodes explored and the deepest point reached a few times per second.
+ * <p>
+ * Like every {@link Task}, the result and the state changes are delivered on the JavaFX
+ * thread, so {@code setOnSucceeded} and {@code setOnFailed} handlers may touch the scene.
+ * It lives with the controllers so that the models, shared with the command line tool and
+ * the server, do not depend on JavaFX.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ *
+ * @param <T> the result of the search.
+ */
+public class SearchTask<T> extends Task<T> {
+
+    private static final long MESSAGE_INTERVAL_NANOS = 100_000_000; // At most ten messages per second
+
+    private final Duration timeout;
+    private final Function<SearchMonitor, T> search;
+    private volatile long lastMessage;
+
+    /**
+     * Creates a task.
+     *
+     * @param timeout the time the search may take once started.
+     * @param search  the search to run; it must poll the monitor it is given and either
+     *                return early or throw a {@link CancellationException} when cancelled.
+     */
+    public SearchTask(Duration timeout, Function<SearchMonitor, T> search) {
+        this.timeout = timeout;
+        this.search = search;
+    }
+
+    @Override
+    protected T call() throws Exception {
+        SearchProgress progress = new SearchProgress(this::isCancelled, timeout) {
+            @Override
+            public void onProgress(int depth) {
+                super.onProgress(depth);
+                long now = System.nanoTime();
+                if (now - lastMessage > MESSAGE_INTERVAL_NANOS) {
+                    lastMessage = now;
+                    updateMessage(describe(this));
+                }
+            }
+        };
+        T result;
+        try {
+            result = search.apply(progress);
+        } catch (CancellationException e) {
+            if (!progress.isTimedOut()) {
+                throw e;
+            }
+            result = null;
+        }
+        if (progress.isTimedOut()) {
+            throw new TimeoutException("Search timed out after " + timeout.toMillis() + " ms ("
+                    + progress.getNodes() + " nodes)");
+        }
+        updateMessage(describe(progress));
+        return result;
+    }
+
+    /**
+     * Starts the task on the search thread. Tasks started while another one runs wait for it.
+     *
+     * @return this task.
+     */
+    public SearchTask<T> start() {
+        SearchExecutorHolder.INSTANCE.execute(this);
+        return this;
+    }
+
+    /**
+     * Formats the progress of a search for the status message.
+     */
+    private static String describe(SearchProgress progress) {
+        return String.format("%,d nodos, profundidad %d", progress.getNodes(), progress.getMaxDepth());
+    }
+
+    /**
+     * Holder class for the lazily created search thread, shared by every task.
+     */
+    private static class SearchExecutorHolder {
+        private static final ExecutorService INSTANCE = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sudoku-search");
+            thread.setDaemon(true); // Never keep the application alive
+            return thread;
+        });
+    }
+
+}
@@ -1,23 +1,55 @@
 package org.example.fpoesudoku.controllers;
 
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.geometry.Insets;
-import javafx.geometry.Pos;
 import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Label;
 import javafx.scene.control.TextField;
-import javafx.scene.control.TextFormatter;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyCodeCombination;
+import javafx.scene.input.KeyCombination;
+import javafx.scene.input.KeyEvent;
 import javafx.scene.input.MouseEvent;
-import javafx.scene.layout.GridPane;
 import javafx.scene.layout.VBox;
+import javafx.stage.Window;
+import javafx.util.Duration;
+import org.example.fpoesudoku.metrics.BoardEvent;
+import org.example.fpoesudoku.metrics.Counter;
+import org.example.fpoesudoku.metrics.HintEvent;
+import org.example.fpoesudoku.metrics.Metrics;
+import org.example.fpoesudoku.metrics.Timer;
+import org.example.fpoesudoku.metrics.ValidateEvent;
 import org.example.fpoesudoku.models.AlertHelper;
+import org.example.fpoesudoku.models.Board;
+import org.example.fpoesudoku.models.BoardSize;
+import org.example.fpoesudoku.models.Difficulty;
+import org.example.fpoesudoku.models.GameBoard;
+import org.example.fpoesudoku.models.Hint;
+import org.example.fpoesudoku.models.HintEngine;
+import org.example.fpoesudoku.models.MoveHistory;
+import org.example.fpoesudoku.models.Puzzle;
+import org.example.fpoesudoku.models.PuzzleCache;
+import org.example.fpoesudoku.models.PuzzleCorpus;
+import org.example.fpoesudoku.models.PuzzlePool;
+import org.example.fpoesudoku.models.SavedGame;
+import org.example.fpoesudoku.models.SavedGameStore;
 import org.example.fpoesudoku.models.Sudoku;
+import org.example.fpoesudoku.models.SudokuGenerator;
+import org.example.fpoesudoku.views.BoardRenderer;
+import org.example.fpoesudoku.views.FrameTimeLogger;
+import org.example.fpoesudoku.views.StatsView;
 import java.util.*;
-import java.util.function.UnaryOperator;
+import java.util.concurrent.TimeoutException;
 
 
 /**
- * Main controller for the 6x6 Sudoku game.
+ * Main controller for the Sudoku game (6x6 by default, other sizes can be picked before starting).
  * Manages the interaction logic between the view and the game model.
  *  @author Brandon Lasprilla Aristizabal
  *  @author Juan Miguel Manjarrez Zuluaga
@@ -30,13 +62,257 @@ public class SudokuGameController {
     @FXML
     private VBox rootVBox; // Main container for the Sudoku board
 
-    private static final int SIZE = 6;
+    @FXML
+    private ComboBox<BoardSize> sizeComboBox; // Selector for the board size of the next game
+
+    @FXML
+    private ComboBox<Difficulty> difficultyComboBox; // Selector for the difficulty of the next game
+
+    @FXML
+    private TextField seedField; // Seed of a puzzle to play again, blank for a new puzzle
+
+    @FXML
+    private CheckBox notesCheckBox; // Shows the candidates of the empty cells as pencil marks
+
+    @FXML
+    private Button startButton; // Starts a game, or cancels the generation of its puzzle
+
+    @FXML
+    private Label searchStatusLabel; // Progress of the puzzle being generated
+
+    private BoardSize boardSize = BoardSize.SIX;
     private Sudoku sudoku;
-    private GridPane boardGrid;
+    private final PuzzleCache puzzleCache = PuzzleCache.getInstance();
+    private final PuzzlePool puzzlePool = PuzzlePool.getInstance();
+    private final Random random = new Random(SudokuGenerator.newSeed()); // Corpus picks and random hints
+    private final SavedGameStore savedGames = SavedGameStore.getInstance();
+    private BoardRenderer renderer; // Draws the displayed board and reports the player's input
+    private final Map<BoardSize, BoardRenderer> renderers = new EnumMap<>(BoardSize.class); // Built once per size
+    private int focusedCell = -1; // Row-major index of the focused cell, -1 if none
+
+    GameBoard gameBoard; // Board being played: the clues plus the player's values
+    private HintEngine hintEngine; // Finds the next logical deduction for the hints
+    private boolean[] hintPeers; // Cells that justify the last hint, by row-major index
+    private int[] hintPeerCells = new int[0]; // The same cells as a list, to clear them
+    private boolean[] hinted; // Cells revealed by hints, by row-major index
+    private Difficulty difficulty; // Difficulty of the puzzle being played
+    private Board solution; // Solution of the puzzle being played
+    private long elapsedBefore; // Playing time of the game before it was last loaded, in milliseconds
+    private long playStart; // System.nanoTime() when the game was last loaded
+    private final MoveHistory history = new MoveHistory(); // Moves of the game, for undo, redo and replay
+    private SearchTask<Puzzle> generation; // Puzzle being generated in the background, null if none
+    private Timeline replay; // Replay of the moves in progress, null if none
+    private int replayedMoves; // Moves already shown by the replay
+
+    private static final java.time.Duration GENERATION_TIMEOUT = java.time.Duration.ofSeconds(30); // Longest wait for a new puzzle
+    private static final Duration REPLAY_STEP = Duration.millis(300); // Time between two moves of a replay
+    private static final Timer SHOW_BOARD_TIME = Metrics.getInstance().timer("board.show");
+    private static final Timer VALIDATE_TIME = Metrics.getInstance().timer("game.validate");
+    private static final Counter MOVES = Metrics.getInstance().counter("game.moves");
+    private static final Counter RANDOM_HINTS = Metrics.getInstance().counter("hints.random");
+    private static final Counter RESUMED_GAMES = Metrics.getInstance().counter("game.resumed");
+    private static final Counter CANCELLED_GENERATIONS = Metrics.getInstance().counter("game.generation.cancelled");
+    private static final Counter FAILED_GENERATIONS = Metrics.getInstance().counter("game.generation.failed");
+    private static final KeyCombination UNDO_KEYS = new KeyCodeCombination(KeyCode.Z, KeyCombination.SHORTCUT_DOWN);
+    private static final KeyCombination REDO_KEYS = new KeyCodeCombination(KeyCode.Y, KeyCombination.SHORTCUT_DOWN);
 
+    /**
+     * Fills the board size and difficulty selectors (6x6, medium by default) and starts
+     * preparing puzzles in the background for the selected combination, unless a puzzle
+     * corpus already provides them.
+     */
     @FXML
-    int[][] sudokuPartial; // Copy of the current Sudoku board with some cells removed
-    int[][] sudokuInitial; // Copy of the initial state of the Sudoku board (for resets)
+    public void initialize() {
+        sizeComboBox.getItems().setAll(BoardSize.values());
+        sizeComboBox.setValue(BoardSize.SIX);
+        difficultyComboBox.getItems().setAll(Difficulty.values());
+        difficultyComboBox.setValue(Difficulty.MEDIUM);
+
+        prefillSelection();
+        sizeComboBox.valueProperty().addListener((obs, oldSize, newSize) -> prefillSelection());
+        difficultyComboBox.valueProperty().addListener((obs, oldDifficulty, newDifficulty) -> prefillSelection());
+        notesCheckBox.selectedProperty().addListener((obs, wasSelected, isSelected) -> {
+            if (renderer != null) {
+                renderer.refreshAll();
+            }
+        });
+
+        // Scene-wide handlers are registered once, when the view gets its scene
+        rootVBox.sceneProperty().addListener((obs, oldScene, newScene) -> {
+            if (newScene != null) {
+                addFocusLossHandler(newScene);
+                addUndoShortcuts(newScene);
+                FrameTimeLogger.getInstance().attach(newScene); // Times the board frames for the metrics
+                resumeSavedGame();
+            }
+        });
+    }
+
+    /**
+     * Shows the game saved by the last session, if any, exactly as it was left.
+     */
+    private void resumeSavedGame() {
+        Optional<SavedGame> saved = savedGames.load();
+        if (saved.isEmpty()) {
+            return;
+        }
+        SavedGame game = saved.get();
+        boardSize = game.boardSize();
+        sizeComboBox.setValue(boardSize);
+        difficultyComboBox.setValue(game.difficulty());
+        loadPuzzle(new Puzzle(boardSize, game.difficulty(), game.clues().toGrid(), game.solution().toGrid()));
+
+        // Replay the entries of the player into the game board and the hint engine
+        for (int row = 0; row < boardSize.getSize(); row++) {
+            for (int col = 0; col < boardSize.getSize(); col++) {
+                int value = game.entries().get(row, col);
+                if (value != 0 && !gameBoard.isGiven(row, col)) {
+                    gameBoard.set(row, col, value);
+                    hintEngine.setValue(row, col, value == solution.get(row, col) ? value : 0);
+                }
+            }
+        }
+        hinted = game.hinted().clone();
+        elapsedBefore = game.elapsedMillis();
+        addBoard();
+        RESUMED_GAMES.increment();
+    }
+
+    /**
+     * Saves the game in progress right away and waits until it is on disk. Called when the
+     * game window is closed, so no move is lost to the autosave delay.
+     */
+    public void saveGame() {
+        if (gameBoard != null) {
+            savedGames.autosave(snapshot());
+        }
+        savedGames.flush();
+    }
+
+    /**
+     * Schedules the game in progress to be saved in the background.
+     */
+    private void autosave() {
+        savedGames.autosave(snapshot());
+    }
+
+    /**
+     * @return an immutable snapshot of the game in progress.
+     */
+    private SavedGame snapshot() {
+        long elapsedMillis = elapsedBefore + (System.nanoTime() - playStart) / 1_000_000;
+        return new SavedGame(difficulty, solution, gameBoard.getInitial(), gameBoard.toBoard(),
+                hinted.clone(), elapsedMillis);
+    }
+
+    /**
+     * Starts generating puzzles of the selected size and difficulty in the background,
+     * if the puzzle corpus has none of them.
+     */
+    private void prefillSelection() {
+        BoardSize size = getSelectedSize();
+        Difficulty difficulty = getSelectedDifficulty();
+        boolean inCorpus = PuzzleCorpus.forBoardSize(size).map(corpus -> corpus.count(difficulty) > 0).orElse(false);
+        if (!inCorpus) {
+            puzzlePool.prefill(size, difficulty);
+        }
+    }
+
+    /**
+     * Looks for a puzzle that can be played right away: a random one from the puzzle corpus
+     * if one is configured for the size, otherwise a pre-generated one from the puzzle pool.
+     *
+     * @param boardSize  the geometry of the board.
+     * @param difficulty the difficulty level.
+     * @return the puzzle to play, or an empty optional if one must be generated.
+     */
+    private Optional<Puzzle> readyPuzzle(BoardSize boardSize, Difficulty difficulty) {
+        Optional<Puzzle> fromCorpus = PuzzleCorpus.forBoardSize(boardSize)
+                .flatMap(corpus -> corpus.random(difficulty, random));
+        if (fromCorpus.isPresent()) {
+            return fromCorpus;
+        }
+        return puzzlePool.take(boardSize, difficulty);
+    }
+
+    /**
+     * Generates the puzzle of a seed on the search thread, so the board stays responsive.
+     * Puzzles played recently come from the puzzle cache instead. The start button cancels
+     * the generation meanwhile, the status label shows its progress, and the game starts on
+     * the JavaFX thread once the puzzle is ready.
+     *
+     * @param boardSize  the geometry of the board.
+     * @param difficulty the difficulty level.
+     * @param seed       the seed of the puzzle.
+     */
+    private void generatePuzzle(BoardSize boardSize, Difficulty difficulty, long seed) {
+        SearchTask<Puzzle> task = new SearchTask<>(GENERATION_TIMEOUT,
+                monitor -> puzzleCache.get(boardSize, difficulty, seed, monitor));
+        generation = task;
+        startButton.setText("Cancelar");
+        searchStatusLabel.textProperty().bind(task.messageProperty());
+
+        task.setOnSucceeded(event -> {
+            endGeneration();
+            startGame(task.getValue());
+        });
+        task.setOnCancelled(event -> {
+            endGeneration();
+            CANCELLED_GENERATIONS.increment();
+        });
+        task.setOnFailed(event -> {
+            endGeneration();
+            if (task.getException() instanceof TimeoutException) {
+                alertHelper.showErrorAlert("Error", "", "Generar el tablero tardó demasiado, inténtalo de nuevo.");
+            } else {
+                alertHelper.showErrorAlert("Error", "", "No se pudo generar el tablero.");
+            }
+            FAILED_GENERATIONS.increment();
+        });
+        task.start();
+    }
+
+    /**
+     * Gives the start button and the status label back once a generation is over.
+     */
+    private void endGeneration() {
+        generation = null;
+        startButton.setText("Iniciar");
+        searchStatusLabel.textProperty().unbind();
+        searchStatusLabel.setText("");
+    }
+
+    /**
+     * Starts a game with a puzzle and displays it.
+     *
+     * @param puzzle the puzzle to play.
+     */
+    private void startGame(Puzzle puzzle) {
+        boardSize = puzzle.getBoardSize();
+        loadPuzzle(puzzle);
+
+        // Display the partially completed Sudoku board on the UI
+        addBoard();
+        autosave(); // The new game replaces the saved one
+
+        // Show the seed, so the same puzzle can be played again or shared
+        searchStatusLabel.setText(puzzle.getSeed().isPresent() ? "Semilla: " + puzzle.getSeed().getAsLong() : "");
+        System.out.println("Initialization started");
+    }
+
+    /**
+     * @return the board size picked in the selector (6x6 if none).
+     */
+    private BoardSize getSelectedSize() {
+        return sizeComboBox.getValue() != null ? sizeComboBox.getValue() : BoardSize.SIX;
+    }
+
+    /**
+     * @return the difficulty picked in the selector (medium if none).
+     */
+    private Difficulty getSelectedDifficulty() {
+        return difficultyComboBox.getValue() != null ? difficultyComboBox.getValue() : Difficulty.MEDIUM;
+    }
 
     /**
      * Prints the Sudoku board to the console (for debugging purposes).
@@ -53,204 +329,350 @@ public class SudokuGameController {
     }
 
     /**
-     * Dynamically adds the Sudoku board to the view as a grid of TextFields.
-     * Removes any previous board and creates a new one with styles and input validation.
-     *
-     * @param board the matrix representing the board to display
-     */
-    private void addBoard(int[][] board) {
-        // Remove any existing GridPane to avoid duplicates
-        rootVBox.getChildren().removeIf(node -> node instanceof GridPane);
-
-        // Create a new GridPane for the board
-        GridPane gridPane = createGridPane();
-
-        // Loop through each cell of the matrix to create TextFields
-        for (int row = 0; row < 6; row++) {
-            for (int col = 0; col < 6; col++) {
-                TextField cell = createCell(board[row][col], row, col);
-                addHighlightingBehavior(cell, row, col, gridPane);
-                gridPane.add(cell, col, row);
-                GridPane.setMargin(cell, getCellMargin(row, col));
-            }
+     * Shows the current game board. The board nodes of every size are built only once, the
+     * first time a game of that size is shown (see {@link BoardRenderer#create}); after that,
+     * a new game or a reset only rebinds the values of the existing cells.
+     */
+    private void addBoard() {
+        BoardEvent event = new BoardEvent();
+        event.begin();
+        long start = System.nanoTime();
+        boolean reused = showBoard();
+        SHOW_BOARD_TIME.recordSince(start);
+        event.end();
+        if (event.shouldCommit()) {
+            event.boardSize = boardSize.getSize();
+            event.difficulty = String.valueOf(difficulty);
+            event.renderer = renderer.getClass().getSimpleName();
+            event.reused = reused;
+            event.commit();
         }
+    }
 
-        // Add the gridPane to the UI and keep reference for future use
-        rootVBox.getChildren().add(0, gridPane);
-        boardGrid = gridPane;
+    /**
+     * Shows the board of the current size, building it the first time the size is played.
+     *
+     * @return {@code true} if the board on screen was already of this size and was only refreshed.
+     */
+    private boolean showBoard() {
+        focusedCell = -1;
+        hintPeers = new boolean[boardSize.getCellCount()];
+        hintPeerCells = new int[0];
+
+        BoardRenderer current = renderers.computeIfAbsent(boardSize,
+                size -> BoardRenderer.create(size, new BoardCells(), new BoardInput()));
+        if (current == renderer) {
+            renderer.refreshAll(); // Same size: show the new values in the same cells
+            return true;
+        }
 
-        // Add global handler to remove focus when clicking outside the board
-        addFocusLossHandler(gridPane);
+        // Swap the board of the previous size for this one
+        if (renderer != null) {
+            rootVBox.getChildren().remove(renderer.getNode());
+        }
+        renderer = current;
+        renderer.refreshAll();
+        rootVBox.getChildren().add(0, renderer.getNode());
+
+        // Grow or shrink the window to fit boards of other sizes
+        Window window = rootVBox.getScene().getWindow();
+        if (window != null) {
+            window.sizeToScene();
+        }
+        return false;
     }
 
     /**
-     * Creates and configures a GridPane layout for the Sudoku board.
+     * Records a value typed (or erased) by the player as a move of the game, applies it and
+     * saves the game.
      *
-     * @return a styled and padded GridPane
+     * @param row   the row index of the edited cell
+     * @param col   the column index of the edited cell
+     * @param value the new value (already restricted to 1..n by the renderer), 0 if erased
      */
-    private GridPane createGridPane() {
-        GridPane gridPane = new GridPane();
-        gridPane.setHgap(1);
-        gridPane.setVgap(1);
-        gridPane.setAlignment(Pos.CENTER);
-        gridPane.setPadding(new Insets(10, 10, 10, 10));
-        return gridPane;
+    private void onCellEdited(int row, int col, int value) {
+        MOVES.increment();
+        history.record(row * boardSize.getSize() + col, gameBoard.get(row, col), value, false);
+        applyValue(row, col, value);
+        autosave();
     }
 
     /**
-     * Creates a single TextField cell with appropriate value, styling, and input validation.
+     * Writes a value in the game board and the hint engine, and refreshes the conflict
+     * marks of the cells that share a row, column or region with the edited cell, as well
+     * as their pencil marks.
      *
-     * @param value the numeric value of the cell (0 if editable)
      * @param row   the row index of the cell
      * @param col   the column index of the cell
-     * @return a configured TextField instance
+     * @param value the new value, 0 to erase the cell
      */
-    private TextField createCell(int value, int row, int col) {
-        TextField textField = new TextField();
-        textField.setPrefSize(40, 40);
-        textField.setAlignment(Pos.CENTER);
-
-        boolean shaded = (row / 2 + col / 3) % 2 == 0;
-        boolean isEditable = value == 0;
-        String background = getBackgroundColor(shaded, isEditable);
+    private void applyValue(int row, int col, int value) {
+        int oldValue = gameBoard.set(row, col, value);
+
+        // Hints are only deduced from correct values
+        hintEngine.setValue(row, col, value == sudoku.getSudoku()[row][col] ? value : 0);
+
+        // Only cells holding the old or the new value can have started or stopped repeating
+        int size = boardSize.getSize();
+        int[][] units = boardSize.getUnits();
+        int[] affectedUnits = {row, size + col, 2 * size + boardSize.quadrantIndex(row, col)};
+        for (int unit : affectedUnits) {
+            for (int cell : units[unit]) {
+                int cellValue = gameBoard.get(cell / size, cell % size);
+                if (cell == row * size + col || notesCheckBox.isSelected() // The value left or entered its candidates
+                        || (cellValue != 0 && (cellValue == oldValue || cellValue == value))) {
+                    renderer.refresh(cell / size, cell % size);
+                }
+            }
+        }
+    }
 
-        textField.setText(value == 0 ? "" : String.valueOf(value));
-        textField.setEditable(isEditable);
-        textField.setStyle(getCellStyle(background));
+    /**
+     * Undoes the last move of the player or the last hint.
+     */
+    private void undo() {
+        if (gameBoard == null || replay != null || !history.canUndo()) {
+            return;
+        }
+        MoveHistory.Move move = history.undo();
+        hinted[move.cell()] = false; // A hinted cell is never edited afterwards, so its hint is the move undone
+        applyValue(move.cell() / boardSize.getSize(), move.cell() % boardSize.getSize(), move.oldValue());
+        autosave();
+    }
 
-        if (isEditable) {
-            addInputFilter(textField);
+    /**
+     * Redoes the last move undone.
+     */
+    private void redo() {
+        if (gameBoard == null || replay != null || !history.canRedo()) {
+            return;
         }
+        MoveHistory.Move move = history.redo();
+        hinted[move.cell()] = move.hint();
+        applyValue(move.cell() / boardSize.getSize(), move.cell() % boardSize.getSize(), move.newValue());
+        autosave();
+    }
 
-        return textField;
+    /**
+     * Opens the statistics window, which shows the metrics of the application.
+     *
+     * @param event button click event on the "Estadísticas" button
+     */
+    @FXML
+    void onActionStatsButton(ActionEvent event) {
+        StatsView stats = StatsView.getInstance();
+        stats.show();
+        stats.toFront();
     }
 
     /**
-     * Adds a numeric input filter that allows only digits from 1 to 6.
+     * Undoes the last move when the "Deshacer" button is pressed.
      *
-     * @param textField the TextField to restrict input on
+     * @param event button click event on the "Deshacer" button
      */
-    private void addInputFilter(TextField textField) {
-        UnaryOperator<TextFormatter.Change> filter = change -> {
-            String newText = change.getControlNewText();
-            return newText.matches("[1-6]?") ? change : null;
-        };
-        textField.setTextFormatter(new TextFormatter<>(filter));
+    @FXML
+    void onActionUndoButton(ActionEvent event) {
+        undo();
     }
 
     /**
-     * Adds behaviour to highlight related cells (row, column, block) when the cell gains focus.
+     * Redoes the last move undone when the "Rehacer" button is pressed.
      *
-     * @param cell the TextField to attach the behavior to
-     * @param row  the row index of the cell
-     * @param col  the column index of the cell
-     * @param grid the parent GridPane containing all cells
-     */
-    private void addHighlightingBehavior(TextField cell, int row, int col, GridPane grid) {
-        cell.focusedProperty().addListener((obs, wasFocused, isNowFocused) -> {
-            if (isNowFocused) {
-                highlightGroup(grid, row, col);
-            } else {
-                resetBoardStyle(grid);
-            }
-        });
+     * @param event button click event on the "Rehacer" button
+     */
+    @FXML
+    void onActionRedoButton(ActionEvent event) {
+        redo();
     }
 
     /**
-     * Highlights the entire row, column, and 2x3 block for the selected cell.
+     * Replays the game from its clues: the board goes back to the start and the moves of
+     * the history are applied again one by one, up to the current one. The board is
+     * read-only until the replay ends.
      *
-     * @param grid the GridPane containing the board
-     * @param row  the focused row index
-     * @param col  the focused column index
-     */
-    private void highlightGroup(GridPane grid, int row, int col) {
-        for (Node node : grid.getChildren()) {
-            if (node instanceof TextField tf) {
-                Integer r = GridPane.getRowIndex(tf);
-                Integer c = GridPane.getColumnIndex(tf);
-                if (r == null || c == null) continue;
-
-                boolean sameRow = r == row;
-                boolean sameCol = c == col;
-                boolean sameBlock = (r / 2 == row / 2) && (c / 3 == col / 3);
-
-                if (sameRow || sameCol || sameBlock) {
-                    tf.setStyle(tf.getStyle() + "; -fx-background-color: #ffcccc;");
-                }
-            }
+     * @param event button click event on the "Repetir" button
+     */
+    @FXML
+    void onActionReplayButton(ActionEvent event) {
+        if (gameBoard == null || replay != null || history.position() == 0) {
+            return;
+        }
+        rewind();
+        replayedMoves = 0;
+        replay = new Timeline(new KeyFrame(REPLAY_STEP, step -> replayNextMove()));
+        replay.setCycleCount(history.position());
+        replay.setOnFinished(finished -> endReplay());
+        renderer.getNode().setDisable(true); // The player watches, the board is read-only
+        replay.play();
+    }
+
+    /**
+     * Brings the board back to the clues, without touching the history.
+     */
+    private void rewind() {
+        gameBoard.reset();
+        hintEngine = new HintEngine(gameBoard.getInitial());
+        hinted = new boolean[boardSize.getCellCount()];
+        setHintPeers(new int[0]);
+        renderer.refreshAll();
+    }
+
+    /**
+     * Applies the next move of the replay.
+     */
+    private void replayNextMove() {
+        MoveHistory.Move move = history.get(replayedMoves++);
+        hinted[move.cell()] = move.hint();
+        applyValue(move.cell() / boardSize.getSize(), move.cell() % boardSize.getSize(), move.newValue());
+    }
+
+    /**
+     * Ends the replay in progress, if any, applying the moves it had not shown yet.
+     */
+    private void finishReplay() {
+        if (replay == null) {
+            return;
         }
+        replay.stop();
+        while (replayedMoves < history.position()) {
+            replayNextMove();
+        }
+        endReplay();
+    }
+
+    /**
+     * Gives the board back to the player once a replay is over.
+     */
+    private void endReplay() {
+        replay = null;
+        renderer.getNode().setDisable(false);
     }
 
     /**
-     * Resets all cell styles to their original color based on shaded/editable state.
+     * Adds the undo (Ctrl+Z) and redo (Ctrl+Y) shortcuts to the scene. They are filters, so
+     * they work even when a cell has the focus and would otherwise undo its own text.
      *
-     * @param grid the GridPane whose children will be reset
-     */
-    private void resetBoardStyle(GridPane grid) {
-        for (Node node : grid.getChildren()) {
-            if (node instanceof TextField tf) {
-                int r = GridPane.getRowIndex(tf);
-                int c = GridPane.getColumnIndex(tf);
-                boolean shaded = (r / 2 + c / 3) % 2 == 0;
-                boolean editable = tf.isEditable();
-                String background = getBackgroundColor(shaded, editable);
-                tf.setStyle(getCellStyle(background));
+     * @param scene the scene of the game view
+     */
+    private void addUndoShortcuts(Scene scene) {
+        scene.addEventFilter(KeyEvent.KEY_PRESSED, event -> {
+            if (UNDO_KEYS.match(event)) {
+                undo();
+                event.consume();
+            } else if (REDO_KEYS.match(event)) {
+                redo();
+                event.consume();
             }
-        }
+        });
+    }
+
+    /**
+     * Highlights the entire row, column, and block for the selected cell, and clears the
+     * marks of the last hint.
+     *
+     * @param row the focused row index
+     * @param col the focused column index
+     */
+    private void highlightGroup(int row, int col) {
+        setHintPeers(new int[0]);
+        setFocusedCell(row * boardSize.getSize() + col);
+    }
+
+    /**
+     * Removes the highlight of the row, column and block of the cell that lost the focus.
+     */
+    private void resetBoardStyle() {
+        setFocusedCell(-1);
     }
 
     /**
-     * Determines the background color for a cell based on its shaded and editable status.
+     * Moves the highlight to the group of another cell. Only the cells that enter or leave
+     * the highlight are refreshed, not the whole board.
      *
-     * @param shaded whether the block should have a shaded background
-     * @param editable whether the cell is user-editable
-     * @return the appropriate background color as a hex string
+     * @param cell the row-major index of the focused cell, or -1 if none
      */
-    private String getBackgroundColor(boolean shaded, boolean editable) {
-        if (editable) return shaded ? "#f2f2f2" : "white";
-        return shaded ? "#d3d3d3" : "lightgray";
+    private void setFocusedCell(int cell) {
+        int old = focusedCell;
+        focusedCell = cell;
+        refreshGroup(old, cell);
+        refreshGroup(cell, old);
     }
 
     /**
-     * Return a complete style string for a Sudoku cell.
+     * Refreshes the cells that share a row, column or block with a cell, except those that
+     * also share one with another cell (their highlight did not change).
      *
-     * @param backgroundColor the background color to apply
-     * @return a concatenated CSS style string
+     * @param center the row-major index of the cell, or -1 if none
+     * @param other  the row-major index of the other cell, or -1 if none
      */
-    private String getCellStyle(String backgroundColor) {
-        return String.format(
-                "-fx-background-color: %s; " +
-                "-fx-font-size: 18px; " +
-                "-fx-alignment: center; " +
-                "-fx-border-color: black; " +
-                "-fx-border-width: 1; " +
-                "-fx-background-insets: 0; " +
-                "-fx-padding: 0;", backgroundColor
-        );
+    private void refreshGroup(int center, int other) {
+        if (center < 0) {
+            return;
+        }
+        int size = boardSize.getSize();
+        int[][] units = boardSize.getUnits();
+        int row = center / size;
+        int col = center % size;
+        for (int unit : new int[]{row, size + col, 2 * size + boardSize.quadrantIndex(row, col)}) {
+            for (int cell : units[unit]) {
+                if (other < 0 || !sharesGroup(cell, other)) {
+                    renderer.refresh(cell / size, cell % size);
+                }
+            }
+        }
     }
 
     /**
-     * Calculates cell margins to add extra spacing between Sudoku blocks.
+     * Tells whether two cells share a row, column or block.
      *
-     * @param row the row index
-     * @param col the column index
-     * @return Insets with top and left padding for visual separation
+     * @param cell  the row-major index of a cell
+     * @param other the row-major index of the other cell
+     * @return {@code true} if they share a row, column or block
      */
-    private Insets getCellMargin(int row, int col) {
-        int top = (row % 2 == 0 && row != 0) ? 5 : 0;
-        int left = (col % 3 == 0 && col != 0) ? 5 : 0;
-        return new Insets(top, 0, 0, left);
+    private boolean sharesGroup(int cell, int other) {
+        int size = boardSize.getSize();
+        int row = cell / size;
+        int col = cell % size;
+        int otherRow = other / size;
+        int otherCol = other % size;
+        return row == otherRow || col == otherCol
+                || boardSize.quadrantIndex(row, col) == boardSize.quadrantIndex(otherRow, otherCol);
+    }
+
+    /**
+     * Replaces the cells marked as justifying the last hint, refreshing the old and the new ones.
+     *
+     * @param peers the row-major indices of the new cells
+     */
+    private void setHintPeers(int[] peers) {
+        int size = boardSize.getSize();
+        int[] old = hintPeerCells;
+        for (int cell : old) {
+            hintPeers[cell] = false;
+        }
+        hintPeerCells = peers;
+        for (int cell : peers) {
+            hintPeers[cell] = true;
+            renderer.refresh(cell / size, cell % size);
+        }
+        for (int cell : old) {
+            renderer.refresh(cell / size, cell % size);
+        }
     }
 
     /**
      * Adds a global focus-loss handler that clears focus from the board when clicking outside.
+     * It is registered once and always checks the board currently shown.
      *
-     * @param gridPane the Sudoku GridPane to monitor for external clicks
+     * @param scene the scene of the game view
      */
-    private void addFocusLossHandler(GridPane gridPane) {
-        rootVBox.getScene().addEventFilter(MouseEvent.MOUSE_PRESSED, event -> {
+    private void addFocusLossHandler(Scene scene) {
+        scene.addEventFilter(MouseEvent.MOUSE_PRESSED, event -> {
+            if (renderer == null) {
+                return;
+            }
             Node target = event.getPickResult().getIntersectedNode();
-            while (target != null && target != gridPane) {
+            while (target != null && target != renderer.getNode()) {
                 target = target.getParent();
             }
             if (target == null) {
@@ -260,81 +682,73 @@ public class SudokuGameController {
     }
 
     /**
-     * Generates a partial version of the complete Sudoku board by
-     * removing exactly 4 cells per 2x3 region.
+     * Prepares the game state from a puzzle: the model holds the solution, and the game
+     * board starts from an immutable snapshot of the clues.
      *
-     * @param completeSudoku the fully solved Sudoku board.
-     * @return a matrix with some cells empty (represented by zeros).
+     * @param puzzle the puzzle to play.
      */
-    private int[][] generatePartialSudoku(int[][] completeSudoku) {
-        int[][] partialSudoku = new int[6][6];
-
-        // Copy the complete Sudoku into the new partial board
-        for (int i = 0; i < 6; i++) {
-            System.arraycopy(completeSudoku[i], 0, partialSudoku[i], 0, 6);
-        }
-
-        Random random = new Random();
-
-        // Remove exactly 4 cells per 2x3 quadrant
-        for (int startRow = 0; startRow < 6; startRow += 2) {
-            for (int startCol = 0; startCol < 6; startCol += 3) {
-                // Collect all cell positions in the current 2x3 quadrant
-                List<int[]> positions = new ArrayList<>();
-                for (int row = startRow; row < startRow + 2; row++) {
-                    for (int col = startCol; col < startCol + 3; col++) {
-                        positions.add(new int[]{row, col});
-                    }
-                }
-
-                // Shuffle and remove 4 random cells
-                Collections.shuffle(positions, random);
-                for (int i = 0; i < 4; i++) {
-                    int[] pos = positions.get(i);
-                    partialSudoku[pos[0]][pos[1]] = 0;
-                }
-            }
-        }
-
-        sudokuPartial = partialSudoku;
-        printSudoku(sudokuPartial);
-
-        // Copy of the initial state of the Sudoku board that won't be modified by other functions
-        sudokuInitial = new int[6][6];
-        for (int i = 0; i < 6; i++) {
-            System.arraycopy(partialSudoku[i], 0, sudokuInitial[i], 0, 6);
-        }
+    private void loadPuzzle(Puzzle puzzle) {
+        sudoku = new Sudoku(boardSize);
+        sudoku.setSudoku(puzzle.getSolution());
+        solution = Board.of(boardSize, puzzle.getSolution());
+        difficulty = puzzle.getDifficulty();
+        elapsedBefore = 0;
+        playStart = System.nanoTime();
+
+        // Snapshot of the initial state of the Sudoku board, it can't be modified by other functions
+        gameBoard = new GameBoard(Board.of(boardSize, puzzle.getClues()));
+        hintEngine = new HintEngine(gameBoard.getInitial());
+        hinted = new boolean[boardSize.getCellCount()];
+        history.clear();
+        printSudoku(gameBoard.toGrid());
         System.out.println("Copy of the initial Sudoky phase created...");
-
-        return partialSudoku;
     }
 
     /**
      * Starts a new Sudoku game after user confirmation.
-     * It initializes a new Sudoku object, generates a solved board,
-     * creates a partially hidden version, and displays it on the screen.
+     * It takes a ready puzzle of the selected size and difficulty (see {@link #readyPuzzle})
+     * and displays it on the screen, or generates one in the background if none is ready.
+     * If a seed was typed, the puzzle of that seed is played instead.
+     * While a puzzle is being generated, the button cancels the generation instead.
      *
      * @param event button click event on the "Iniciar" button
      */
     @FXML
     void onActionStartGameButton(ActionEvent event) {
+        if (generation != null) {
+            generation.cancel();
+            return;
+        }
+
         // Ask the user to confirm if they want to start the game
         boolean confirm = AlertHelper.showConfirmationAlert("Confirmación", "¿Seguro que quieres iniciar el juego?");
 
         if (confirm) {
-            // Create a new Sudoku instance
-            sudoku = new Sudoku();
-
-            // Generate a valid, fully solved Sudoku board
-            sudoku.solveSudoku();
-
-            // Generate a partially hidden Sudoku based on the solved board
-            int[][] sudokuPartial = generatePartialSudoku(sudoku.getSudoku());
-
-            // Display the partially completed Sudoku board on the UI
-            addBoard(sudokuPartial);
+            finishReplay();
+            BoardSize size = getSelectedSize();
+            Difficulty difficulty = getSelectedDifficulty();
+
+            // A typed seed asks for that exact puzzle
+            String seedText = seedField.getText() == null ? "" : seedField.getText().strip();
+            if (!seedText.isEmpty()) {
+                long seed;
+                try {
+                    seed = Long.parseLong(seedText);
+                } catch (NumberFormatException e) {
+                    alertHelper.showErrorAlert("Error", "", "La semilla debe ser un número entero.");
+                    return;
+                }
+                seedField.clear();
+                generatePuzzle(size, difficulty, seed);
+                return;
+            }
 
-            System.out.println("Initialization started");
+            Optional<Puzzle> puzzle = readyPuzzle(size, difficulty);
+            if (puzzle.isPresent()) {
+                startGame(puzzle.get());
+            } else {
+                generatePuzzle(size, difficulty, SudokuGenerator.newSeed());
+            }
         } else {
             System.out.println("Initialization cancelled");
         }
@@ -348,30 +762,29 @@ public class SudokuGameController {
      */
     @FXML
     void onActionRestartButton(ActionEvent event) {
-        // Remove the current board if it exists
-        rootVBox.getChildren().removeIf(node -> node instanceof GridPane);
-
-        if (sudoku == null || sudokuPartial == null) {
+        if (sudoku == null || gameBoard == null) {
             alertHelper.showErrorAlert("Error","", "Debes iniciar un juego primero.");
             System.out.println("No existe ningun tablero...");
             return;
         }
 
-        // Create a new copy of the initial board to restart the game
-        int[][] newPartial = new int[6][6];
-        for (int i = 0; i < 6; i++) {
-            System.arraycopy(sudokuInitial[i], 0, newPartial[i], 0, 6);
-        }
+        // Go back to the initial board to restart the game, with an empty history
+        finishReplay();
+        gameBoard.reset();
+        hintEngine = new HintEngine(gameBoard.getInitial());
+        hinted = new boolean[boardSize.getCellCount()];
+        history.clear();
 
-        sudokuPartial = newPartial;
-
-        // Add the restarted board back to the interface
-        addBoard(sudokuPartial);
+        // Show the restarted board in the same cells
+        addBoard();
+        autosave();
     }
 
     /**
      * Validates the current state of the Sudoku board entered by the user.
-     * If the board matches the solved version, a success alert is shown.
+     * The game board already tracks every edit, so this only reads its counters: if every
+     * cell is filled and no value repeats in a row, column or region, a success alert is
+     * shown (since generated puzzles are unique, this is the stored solution).
      * Otherwise, an error alert indicates the puzzle is not yet solved.
      *
      * @param event button click event on the "Validate" button
@@ -379,51 +792,34 @@ public class SudokuGameController {
     @FXML
     void onActionValidateButton(ActionEvent event) {
         // Check if a game has started
-        if (sudoku == null || sudokuPartial == null) {
+        if (sudoku == null || gameBoard == null) {
             alertHelper.showErrorAlert("Error","", "Debes iniciar un juego primero.");
             System.out.println("No existe ningun tablero...");
             return;
         }
-
-        // Loop through the nodes in the GridPane to capture user input
-        for (Node node : boardGrid.getChildren()) {
-            if (node instanceof TextField) {
-                Integer row = GridPane.getRowIndex(node);
-                Integer col = GridPane.getColumnIndex(node);
-
-                // Fallback in case row/col is null
-                if (row == null) row = 0;
-                if (col == null) col = 0;
-
-                String text = ((TextField) node).getText().trim();
-
-                if (!text.isEmpty()) {
-                    try {
-                        int value = Integer.parseInt(text);
-                        sudokuPartial[row][col] = value;
-                    } catch (NumberFormatException e) {
-                        sudokuPartial[row][col] = 0; // Invalid input set to 0
-                    }
-                } else {
-                    sudokuPartial[row][col] = 0; // Empty cell
-                }
-            }
+        finishReplay();
+
+        // Check that the user's board is complete and breaks no rule
+        ValidateEvent validation = new ValidateEvent();
+        validation.begin();
+        long start = System.nanoTime();
+        boolean complete = gameBoard.isComplete();
+        VALIDATE_TIME.recordSince(start);
+        validation.end();
+        if (validation.shouldCommit()) {
+            validation.boardSize = boardSize.getSize();
+            validation.difficulty = String.valueOf(difficulty);
+            validation.solved = complete;
+            validation.commit();
         }
-
-        int [][] solution = sudoku.getSudoku();
-
-        // Check every cell to see if the user's input matches the solution
-        for (int i = 0; i < 6; i++) {
-            for (int j = 0; j < 6; j++) {
-                if (sudokuPartial[i][j] != solution[i][j]) {
-                    alertHelper.showErrorAlert("Un momento...", "", "Oops! El Sudoku no ha sido resuelto correctamente aún.");
-                    System.out.println("Solución incorrecta en: [" + i + ", " + j + "]");
-                    return;
-                }
-            }
+        if (!complete) {
+            alertHelper.showErrorAlert("Un momento...", "", "Oops! El Sudoku no ha sido resuelto correctamente aún.");
+            System.out.println("Solución incompleta o incorrecta.");
+            return;
         }
 
-        // If all cells match, the puzzle is solved
+        // If all cells match, the puzzle is solved and there is nothing left to resume
+        savedGames.discard();
         alertHelper.showInfoAlert("Congratulations!", "", "You've successfully completed the Sudoku!");
         System.out.println("Sudoku completed correctly.");
     }
@@ -435,89 +831,150 @@ public class SudokuGameController {
      */
     @FXML
     void onActionMouseClickedQuestionMark(MouseEvent event) {
+        BoardSize size = getSelectedSize();
+        int n = size.getSize();
         String title = "Instrucciones del juego";
-        String header = "Cómo jugar Sudoku 6x6";
+        String header = "Cómo jugar Sudoku " + size;
         String content =
-                "1. El tablero está compuesto por 6 filas y 6 columnas, formando un total de 36 casillas.\n\n" +
-                        "2. Se divide en 6 regiones del mismo tamaño: 2x3 (2 filas x 3 columnas).\n\n" +
-                        "3. Debes llenar todas las casillas con números del 1 al 6, siguiendo estas reglas:\n\n" +
-                        "4. Cada fila debe contener los números del 1 al 6, sin repetir.\n\n" +
-                        "5. Cada columna debe contener los números del 1 al 6, sin repetir.\n\n" +
-                        "6. Cada región debe contener los números del 1 al 6, sin repetir.\n\n" +
+                "1. El tablero está compuesto por " + n + " filas y " + n + " columnas, formando un total de " + size.getCellCount() + " casillas.\n\n" +
+                        "2. Se divide en " + n + " regiones del mismo tamaño: " + size.getBoxRows() + "x" + size.getBoxColumns() +
+                        " (" + size.getBoxRows() + " filas x " + size.getBoxColumns() + " columnas).\n\n" +
+                        "3. Debes llenar todas las casillas con números del 1 al " + n + ", siguiendo estas reglas:\n\n" +
+                        "4. Cada fila debe contener los números del 1 al " + n + ", sin repetir.\n\n" +
+                        "5. Cada columna debe contener los números del 1 al " + n + ", sin repetir.\n\n" +
+                        "6. Cada región debe contener los números del 1 al " + n + ", sin repetir.\n\n" +
                         "7. Cada tablero tiene una única solución correcta.";
         alertHelper.showInfoAlert(title, header, content);
     }
 
     /**
-     * Reveals a hint to the player by filling in a random empty cell
-     * with its correct value. Only available if more than two cells remain empty.
+     * Reveals a hint to the player: the next cell a person could deduce, found by the hint
+     * engine, is filled with its value and the cells that justify it are highlighted.
+     * If no known technique applies, a random empty cell is revealed instead.
+     * Only available if more than two cells remain empty.
      *
      * @param event mouse click event on the lightbulb icon
      */
     @FXML
     void onActionMouseClickedLightBulb(MouseEvent event) {
         int minRemainingCells = 2; // Minimum number of empty cells before hints are disabled
+        finishReplay();
 
-        if (sudoku == null || sudokuPartial == null) {
+        if (sudoku == null || gameBoard == null) {
             alertHelper.showErrorAlert("Error","", "Debes iniciar un juego primero.");
             System.out.println("Aún no existe ningún tablero...");
             return;
         }
 
-        // Retrieve the grid pane from the root VBox
-        GridPane gridPane = null;
-        for (javafx.scene.Node node : rootVBox.getChildren()) {
-            if (node instanceof GridPane) {
-                gridPane = (GridPane) node;
-                break;
-            }
-        }
-
-        if (gridPane == null) {
+        if (renderer == null) {
             alertHelper.showErrorAlert("Error","", "No se encontró el tablero.");
             return;
         }
 
         // Collect all currently empty cells
         List<int[]> emptyCells = new ArrayList<>();
-        for (int i = 0; i < SIZE; i++) {
-            for (int j = 0; j < SIZE; j++) {
-                if (sudokuPartial[i][j] == 0) {
+        for (int i = 0; i < boardSize.getSize(); i++) {
+            for (int j = 0; j < boardSize.getSize(); j++) {
+                if (gameBoard.get(i, j) == 0) {
                     emptyCells.add(new int[]{i, j});
                 }
             }
         }
 
-        if (emptyCells.size() > minRemainingCells) {
-            // Select a random empty cell
-            Random rand = new Random();
-            int[] cell = emptyCells.get(rand.nextInt(emptyCells.size()));
-            int row = cell[0];
-            int col = cell[1];
-
-            // Retrieve the correct value from the original Sudoku board
-            int correctValue = sudoku.getSudoku()[row][col];
-            sudokuPartial[row][col] = correctValue;
-
-            // Update the corresponding TextField in the UI
-            for (javafx.scene.Node node : gridPane.getChildren()) {
-                if (GridPane.getRowIndex(node) == row &&
-                        GridPane.getColumnIndex(node) == col &&
-                        node instanceof TextField) {
-                    TextField tf = (TextField) node;
-                    tf.setText(String.valueOf(correctValue));
-                    tf.setEditable(false);
-                    tf.setStyle(tf.getStyle() + "; -fx-text-fill: green;"); // Highlight hint in green
-                    break;
-                }
-            }
-
-            System.out.println("Ayuda aplicada en [" + row + "," + col + "] = " + correctValue);
-        } else {
+        if (emptyCells.size() <= minRemainingCells) {
             alertHelper.showWarningAlert("Advertencia","Ya no te quedan ayudas.");
             System.out.println("Ya no te quedan ayudas...");
+            return;
+        }
+
+        HintEvent hintEvent = new HintEvent();
+        hintEvent.begin();
+        int row;
+        int col;
+        int[] peers;
+        Optional<Hint> hint = hintEngine.nextHint();
+        hintEvent.end(); // Only the search is timed, not applying the value
+        if (hint.isPresent()) {
+            row = hint.get().row();
+            col = hint.get().col();
+            peers = hint.get().peers();
+        } else {
+            // No logical step is known for this board, reveal a random empty cell
+            RANDOM_HINTS.increment();
+            int[] cell = emptyCells.get(random.nextInt(emptyCells.size()));
+            row = cell[0];
+            col = cell[1];
+            peers = new int[0];
+        }
+        if (hintEvent.shouldCommit()) {
+            hintEvent.boardSize = boardSize.getSize();
+            hintEvent.difficulty = String.valueOf(difficulty);
+            hintEvent.technique = hint.map(found -> found.technique().name()).orElse("random");
+            hintEvent.row = row;
+            hintEvent.col = col;
+            hintEvent.commit();
+        }
+
+        // Retrieve the correct value from the original Sudoku board
+        int correctValue = sudoku.getSudoku()[row][col];
+
+        // Fill the cell as if the player had typed the value, then lock it (green)
+        hinted[row * boardSize.getSize() + col] = true;
+        history.record(row * boardSize.getSize() + col, gameBoard.get(row, col), correctValue, true);
+        applyValue(row, col, correctValue);
+        autosave();
+
+        // Mark the cells that justify the hint in blue until the focus moves
+        setHintPeers(peers);
+
+        System.out.println("Ayuda aplicada en [" + row + "," + col + "] = " + correctValue);
+    }
+
+    /**
+     * What the renderer shows for every cell, read from the game board and the state of
+     * the controller.
+     */
+    private class BoardCells implements BoardRenderer.Cells {
+
+        @Override
+        public int value(int row, int col) { return gameBoard.get(row, col); }
+
+        @Override
+        public boolean isGiven(int row, int col) { return gameBoard.isGiven(row, col); }
+
+        @Override
+        public boolean isHint(int row, int col) { return hinted[row * boardSize.getSize() + col]; }
+
+        @Override
+        public boolean isConflicting(int row, int col) { return gameBoard.isConflicting(row, col); }
+
+        @Override
+        public boolean isHighlighted(int row, int col) {
+            return focusedCell >= 0 && sharesGroup(row * boardSize.getSize() + col, focusedCell);
         }
 
+        @Override
+        public boolean isHintPeer(int row, int col) { return hintPeers[row * boardSize.getSize() + col]; }
+
+        @Override
+        public int notes(int row, int col) {
+            return notesCheckBox.isSelected() ? gameBoard.candidates(row, col) : 0;
+        }
+    }
+
+    /**
+     * Input of the player on the displayed board.
+     */
+    private class BoardInput implements BoardRenderer.Listener {
+
+        @Override
+        public void onCellFocused(int row, int col) { highlightGroup(row, col); }
+
+        @Override
+        public void onFocusCleared() { resetBoardStyle(); }
+
+        @Override
+        public void onValueEntered(int row, int col, int value) { onCellEdited(row, col, value); }
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,34 @@
+package org.example.fpoesudoku.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for showing a new game on the board, on the JavaFX thread.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+@Name("org.example.fpoesudoku.ShowBoard")
+@Label("Show Board")
+@Category({"Sudoku", "Game"})
+@Description("Building or reusing the board of a new game and drawing every cell")
+public class BoardEvent extends Event {
+
+    @Label("Board Size")
+    @Description("Side of the board")
+    public int boardSize;
+
+    @Label("Difficulty")
+    public String difficulty;
+
+    @Label("Renderer")
+    public String renderer;
+
+    @Label("Reused")
+    @Description("The board of the previous game had the same size and was reused")
+    public boolean reused;
+
+}
@@ -0,0 +1,37 @@
+package org.example.fpoesudoku.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for the removal of clues from a complete board, the part of a
+ * generation that checks uniqueness again and again.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+@Name("org.example.fpoesudoku.ClueRemoval")
+@Label("Clue Removal")
+@Category({"Sudoku", "Generation"})
+@Description("Removal of clues from a complete board while keeping the solution unique")
+public class ClueRemovalEvent extends Event {
+
+    @Label("Board Size")
+    @Description("Side of the board")
+    public int boardSize;
+
+    @Label("Strategy")
+    @Description("partial (a number of cells) or minimal (every removable clue)")
+    public String strategy;
+
+    @Label("Target")
+    @Description("Cells to remove, -1 for as many as possible")
+    public int target;
+
+    @Label("Removed")
+    @Description("Cells actually removed")
+    public int removed;
+
+}
@@ -0,0 +1,42 @@
+package org.example.fpoesudoku.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A count that only goes up, such as the hints served or the search nodes visited.
+ * Updates are striped across cells by a {@link LongAdder}, so threads that count at the
+ * same time do not contend on a single value.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+public class Counter implements Metric {
+
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * Adds one to the count.
+     */
+    public void increment() {
+        count.increment();
+    }
+
+    /**
+     * Adds an amount to the count. Hot loops should count locally and add once at the end.
+     *
+     * @param amount the amount to add.
+     */
+    public void add(long amount) {
+        count.add(amount);
+    }
+
+    /**
+     * @return the current count.
+     */
+    public long get() { return count.sum(); }
+
+    @Override
+    public String summary() {
+        return String.valueOf(get());
+    }
+
+}
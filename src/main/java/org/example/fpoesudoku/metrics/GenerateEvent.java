@@ -0,0 +1,38 @@
+package org.example.fpoesudoku.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for the generation of a puzzle, from the first complete board to the
+ * graded puzzle. The searches it runs show up as nested {@link SolveEvent}s.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+@Name("org.example.fpoesudoku.Generate")
+@Label("Puzzle Generation")
+@Category({"Sudoku", "Generation"})
+@Description("Generation of a puzzle of a requested difficulty")
+public class GenerateEvent extends Event {
+
+    @Label("Board Size")
+    @Description("Side of the board")
+    public int boardSize;
+
+    @Label("Requested Difficulty")
+    public String requestedDifficulty;
+
+    @Label("Difficulty")
+    @Description("Difficulty of the puzzle returned, as graded")
+    public String difficulty;
+
+    @Label("Clues")
+    public int clues;
+
+    @Label("Cancelled")
+    public boolean cancelled;
+
+}
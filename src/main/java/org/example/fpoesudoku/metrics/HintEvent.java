@@ -0,0 +1,37 @@
+package org.example.fpoesudoku.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for a hint given to the player.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+@Name("org.example.fpoesudoku.Hint")
+@Label("Hint")
+@Category({"Sudoku", "Game"})
+@Description("A cell revealed to the player")
+public class HintEvent extends Event {
+
+    @Label("Board Size")
+    @Description("Side of the board")
+    public int boardSize;
+
+    @Label("Difficulty")
+    public String difficulty;
+
+    @Label("Technique")
+    @Description("Technique that deduces the cell, or random if none applies")
+    public String technique;
+
+    @Label("Row")
+    public int row;
+
+    @Label("Column")
+    public int col;
+
+}
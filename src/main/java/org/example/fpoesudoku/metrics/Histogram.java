@@ -0,0 +1,88 @@
+package org.example.fpoesudoku.metrics;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Distribution of non-negative values, such as the clues of the generated puzzles.
+ * Values go into power-of-two buckets, so recording one is a few atomic increments with no
+ * lock and no allocation, and percentiles are reported as the upper bound of their bucket
+ * (at most twice the real value, and never above the maximum recorded).
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+public class Histogram implements Metric {
+
+    private static final int BUCKETS = 64; // Bucket b holds [2^(b-1), 2^b), bucket 0 holds 0
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a value.
+     *
+     * @param value the value; negative values are recorded as 0.
+     */
+    public void record(long value) {
+        long recorded = Math.max(0, value);
+        count.increment();
+        sum.add(recorded);
+        buckets.incrementAndGet(Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(recorded)));
+        if (recorded > max.get()) {
+            max.accumulateAndGet(recorded, Math::max);
+        }
+    }
+
+    /**
+     * @return the number of values recorded.
+     */
+    public long count() { return count.sum(); }
+
+    /**
+     * @return the mean of the values recorded, 0 if none.
+     */
+    public double mean() {
+        long n = count();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    /**
+     * @return the largest value recorded, 0 if none.
+     */
+    public long max() { return max.get(); }
+
+    /**
+     * Returns the value under which a fraction of the recorded values fall.
+     *
+     * @param fraction the fraction, for example 0.99 for the 99th percentile.
+     * @return the upper bound of the bucket holding that percentile, 0 if nothing was recorded.
+     */
+    public long percentile(double fraction) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            counts[bucket] = buckets.get(bucket);
+            total += counts[bucket];
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * total));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank && total > 0) {
+                return bucket == 0 ? 0 : Math.min(bucket >= 63 ? Long.MAX_VALUE : 1L << bucket, max());
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public String summary() {
+        return String.format(Locale.ROOT, "count=%d mean=%.1f p50=%d p99=%d max=%d",
+                count(), mean(), percentile(0.5), percentile(0.99), max());
+    }
+
+}
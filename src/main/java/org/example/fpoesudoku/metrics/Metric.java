@@ -0,0 +1,15 @@
+package org.example.fpoesudoku.metrics;
+
+/**
+ * A named measurement kept by the {@link Metrics} registry.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+public interface Metric {
+
+    /**
+     * @return the current value of the metric as a short line of text, for the reports.
+     */
+    String summary();
+
+}
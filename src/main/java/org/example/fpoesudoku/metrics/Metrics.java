@@ -0,0 +1,109 @@
+package org.example.fpoesudoku.metrics;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Supplier;
+
+/**
+ * In-process registry of the application's {@link Counter counters}, {@link Timer timers}
+ * and {@link Histogram histograms}, by name. Names are dotted paths such as
+ * {@code solver.nodes} or {@code game.validate}; the first use of a name creates the metric
+ * and later uses return the same one, so classes look their metrics up once and keep them
+ * in fields. Every metric is updated without locks and can be read at any time.
+ * <p>
+ * The current values are shown by the stats panel of the game and can be dumped as text
+ * with {@link #report()}; when the {@value #DUMP_PROPERTY} system property is {@code true},
+ * the report is printed on the standard error when the application exits.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+public class Metrics {
+
+    /**
+     * System property that prints the report on exit.
+     */
+    public static final String DUMP_PROPERTY = "sudoku.metrics.dump";
+
+    private final Map<String, Metric> metrics = new ConcurrentSkipListMap<>(); // Sorted for the report
+
+    /**
+     * Returns the counter of a name, creating it on first use.
+     *
+     * @param name the name of the metric.
+     * @return the counter.
+     * @throws IllegalArgumentException if the name is used by a metric of another kind.
+     */
+    public Counter counter(String name) {
+        return get(name, Counter.class, Counter::new);
+    }
+
+    /**
+     * Returns the timer of a name, creating it on first use.
+     *
+     * @param name the name of the metric.
+     * @return the timer.
+     * @throws IllegalArgumentException if the name is used by a metric of another kind.
+     */
+    public Timer timer(String name) {
+        return get(name, Timer.class, Timer::new);
+    }
+
+    /**
+     * Returns the histogram of a name, creating it on first use.
+     *
+     * @param name the name of the metric.
+     * @return the histogram.
+     * @throws IllegalArgumentException if the name is used by a metric of another kind.
+     */
+    public Histogram histogram(String name) {
+        return get(name, Histogram.class, Histogram::new);
+    }
+
+    /**
+     * Formats every metric, one per line and sorted by name.
+     *
+     * @return the report.
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder();
+        metrics.forEach((name, metric) -> report.append(String.format(Locale.ROOT, "%-28s %s%n", name, metric.summary())));
+        return report.toString();
+    }
+
+    /**
+     * Returns the metric of a name, creating it on first use.
+     */
+    private <M extends Metric> M get(String name, Class<M> kind, Supplier<M> factory) {
+        Metric metric = metrics.computeIfAbsent(name, key -> factory.get());
+        if (!kind.isInstance(metric)) {
+            throw new IllegalArgumentException("Metric " + name + " is a " + metric.getClass().getSimpleName()
+                    + ", not a " + kind.getSimpleName());
+        }
+        return kind.cast(metric);
+    }
+
+    /**
+     * Returns the registry shared by the whole application.
+     *
+     * @return the unique Metrics instance.
+     */
+    public static Metrics getInstance() {
+        return MetricsHolder.INSTANCE;
+    }
+
+    /**
+     * Holder class for the lazily created shared registry.
+     */
+    private static class MetricsHolder {
+        private static final Metrics INSTANCE = new Metrics();
+
+        static {
+            if (Boolean.getBoolean(DUMP_PROPERTY)) {
+                Runtime.getRuntime().addShutdownHook(new Thread(
+                        () -> System.err.print(INSTANCE.report()), "metrics-dump"));
+            }
+        }
+    }
+
+}
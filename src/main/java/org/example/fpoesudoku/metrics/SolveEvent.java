@@ -0,0 +1,50 @@
+package org.example.fpoesudoku.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one run of a solver: solving a grid or counting its solutions.
+ * Generation runs many of them, so the event records no stack trace and costs a field test
+ * when no recording asks for it.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+@Name("org.example.fpoesudoku.Solve")
+@Label("Sudoku Search")
+@Category({"Sudoku", "Search"})
+@Description("A solver run on a grid")
+@StackTrace(false)
+public class SolveEvent extends Event {
+
+    @Label("Solver")
+    public String solver;
+
+    @Label("Mode")
+    @Description("solve or enumerate")
+    public String mode;
+
+    @Label("Board Size")
+    @Description("Side of the board")
+    public int boardSize;
+
+    @Label("Nodes")
+    @Description("Search nodes visited")
+    public long nodes;
+
+    @Label("Backtracks")
+    @Description("Values taken back after their subtree failed")
+    public long backtracks;
+
+    @Label("Solutions")
+    @Description("Solutions found (at most one when solving)")
+    public long solutions;
+
+    @Label("Cancelled")
+    public boolean cancelled;
+
+}
@@ -0,0 +1,50 @@
+package org.example.fpoesudoku.metrics;
+
+import java.util.Locale;
+
+/**
+ * Distribution of durations, such as the time to generate a puzzle. Durations are kept in
+ * nanoseconds in a {@link Histogram} and reported in milliseconds.
+ * <pre>{@code
+ * long start = System.nanoTime();
+ * ...
+ * timer.recordSince(start);
+ * }</pre>
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+public class Timer implements Metric {
+
+    private final Histogram nanos = new Histogram();
+
+    /**
+     * Records a duration.
+     *
+     * @param elapsedNanos the duration in nanoseconds.
+     */
+    public void record(long elapsedNanos) {
+        nanos.record(elapsedNanos);
+    }
+
+    /**
+     * Records the time elapsed since a start.
+     *
+     * @param startNanos the {@link System#nanoTime()} at the start.
+     */
+    public void recordSince(long startNanos) {
+        nanos.record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * @return the recorded durations, in nanoseconds.
+     */
+    public Histogram getHistogram() { return nanos; }
+
+    @Override
+    public String summary() {
+        return String.format(Locale.ROOT, "count=%d mean=%.3fms p50=%.3fms p99=%.3fms max=%.3fms",
+                nanos.count(), nanos.mean() / 1e6, nanos.percentile(0.5) / 1e6, nanos.percentile(0.99) / 1e6,
+                nanos.max() / 1e6);
+    }
+
+}
@@ -0,0 +1,30 @@
+package org.example.fpoesudoku.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for the validation of the board by the player.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+@Name("org.example.fpoesudoku.Validate")
+@Label("Validate Board")
+@Category({"Sudoku", "Game"})
+@Description("Check of the board when the player asks for validation")
+public class ValidateEvent extends Event {
+
+    @Label("Board Size")
+    @Description("Side of the board")
+    public int boardSize;
+
+    @Label("Difficulty")
+    public String difficulty;
+
+    @Label("Solved")
+    public boolean solved;
+
+}
@@ -0,0 +1,311 @@
+package org.example.fpoesudoku.models;
+
+import org.example.fpoesudoku.metrics.Counter;
+import org.example.fpoesudoku.metrics.Metrics;
+import org.example.fpoesudoku.metrics.SolveEvent;
+
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Backtracking solver driven by the occupancy masks of {@link SudokuConstraints}.
+ * Each step fills the empty cell with the fewest legal values. When values are tried in
+ * random order, an attempt that wanders too long restarts with a doubled node budget, which
+ * avoids the very long runs random backtracking can hit on 16x16 and 25x25 boards while
+ * still exploring the whole tree eventually.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+public class BacktrackingSolver implements SudokuSolver {
+
+    // Outcomes of a single search attempt
+    private static final int UNSOLVABLE = 0;
+    private static final int SOLVED = 1;
+    private static final int ABORTED = 2;
+
+    // Totals of every search, added once per search so the hot loop only touches plain fields
+    private static final Counter NODES = Metrics.getInstance().counter("solver.nodes");
+    private static final Counter BACKTRACKS = Metrics.getInstance().counter("solver.backtracks");
+
+    @Override
+    public boolean solve(BoardSize boardSize, int[][] grid, Random random, SearchMonitor monitor) {
+        SolveEvent event = new SolveEvent();
+        event.begin();
+        Search search = new Search(boardSize, grid);
+        search.random = random;
+        search.monitor = monitor;
+        boolean solved = false;
+        try {
+            if (!search.consistent) {
+                return false;
+            }
+            if (random == null) {
+                search.nodeBudget = Long.MAX_VALUE; // A fixed order gains nothing from restarts
+                solved = search.solveFrom(0) == SOLVED;
+                return solved;
+            }
+
+            long budget = 64L * (search.emptyCount + 1);
+            while (true) {
+                search.nodeBudget = budget;
+                int result = search.solveFrom(0);
+                if (result != ABORTED) {
+                    solved = result == SOLVED;
+                    return solved;
+                }
+                if (search.cancelled) {
+                    return false;
+                }
+                budget *= 2; // Restart with more room, the grid is back to its initial state
+            }
+        } finally {
+            search.publishMetrics(event, "solve", solved ? 1 : 0);
+        }
+    }
+
+    @Override
+    public long enumerateSolutions(BoardSize boardSize, int[][] grid, long limit, Consumer<int[][]> consumer,
+                                   SearchMonitor monitor) {
+        SolveEvent event = new SolveEvent();
+        event.begin();
+        Search search = new Search(boardSize, grid);
+        if (!search.consistent || limit <= 0) {
+            search.publishMetrics(event, "enumerate", 0); // Still recorded, with no node visited
+            return 0;
+        }
+        search.limit = limit;
+        search.consumer = consumer;
+        search.monitor = monitor;
+        search.enumerateFrom(0); // Restores the grid before returning
+        search.publishMetrics(event, "enumerate", search.found);
+        return search.found;
+    }
+
+    /**
+     * Picks one of the set bits of a mask uniformly at random.
+     *
+     * @param mask   a non-zero mask.
+     * @param random the random source.
+     * @return the position of the chosen bit.
+     */
+    static int pickRandomBit(int mask, Random random) {
+        int skip = random.nextInt(Integer.bitCount(mask));
+        for (int i = 0; i < skip; i++) {
+            mask &= mask - 1; // Drop the lowest set bit
+        }
+        return Integer.numberOfTrailingZeros(mask);
+    }
+
+    /**
+     * Returns a deep copy of a grid.
+     *
+     * @param grid the grid to copy.
+     * @return the copy.
+     */
+    static int[][] copyOf(int[][] grid) {
+        int[][] copy = new int[grid.length][];
+        for (int i = 0; i < grid.length; i++) {
+            copy[i] = grid[i].clone();
+        }
+        return copy;
+    }
+
+    /**
+     * State of one solving or enumeration run.
+     */
+    private static class Search {
+
+        private final int size;
+        private final int[][] grid;
+        private final SudokuConstraints constraints;
+        private final int[] emptyCells;
+        private final int emptyCount;
+        private final boolean consistent;
+
+        private Random random;
+        private SearchMonitor monitor;
+        private boolean cancelled;
+        private long nodes;
+        private long backtracks;
+        private long nodeBudget;
+        private long limit;
+        private long found;
+        private Consumer<int[][]> consumer;
+
+        /**
+         * Prepares a search on the grid and collects its empty cells.
+         *
+         * @param boardSize the geometry of the board.
+         * @param grid      the grid to search on.
+         */
+        Search(BoardSize boardSize, int[][] grid) {
+            this.size = boardSize.getSize();
+            this.grid = grid;
+            this.constraints = new SudokuConstraints(boardSize);
+            this.consistent = constraints.load(grid);
+            this.emptyCells = new int[boardSize.getCellCount()];
+            int count = 0;
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    if (grid[row][col] == 0) {
+                        emptyCells[count++] = row * size + col;
+                    }
+                }
+            }
+            this.emptyCount = count;
+        }
+
+        /**
+         * Adds the nodes visited and the backtracks of this search to the application metrics,
+         * and ends its Flight Recorder event.
+         *
+         * @param event     the event begun with the search.
+         * @param mode      {@code solve} or {@code enumerate}.
+         * @param solutions the number of solutions found.
+         */
+        private void publishMetrics(SolveEvent event, String mode, long solutions) {
+            NODES.add(nodes);
+            BACKTRACKS.add(backtracks);
+            event.end();
+            if (event.shouldCommit()) {
+                event.solver = "backtracking";
+                event.mode = mode;
+                event.boardSize = size;
+                event.nodes = nodes;
+                event.backtracks = backtracks;
+                event.solutions = solutions;
+                event.cancelled = cancelled;
+                event.commit();
+            }
+        }
+
+        /**
+         * Counts a search node, and reports the progress and asks the monitor for
+         * cancellation every {@link SearchMonitor#POLL_INTERVAL} nodes.
+         *
+         * @param depth the number of empty cells already filled.
+         * @return {@code true} if the search has been cancelled.
+         */
+        private boolean pollCancelled(int depth) {
+            if ((++nodes & (SearchMonitor.POLL_INTERVAL - 1)) == 0) {
+                monitor.onProgress(depth);
+                if (monitor.isCancelled()) {
+                    cancelled = true;
+                }
+            }
+            return cancelled;
+        }
+
+        /**
+         * Moves the empty cell with the fewest legal values to position {@code depth}.
+         *
+         * @param depth the number of empty cells already filled.
+         * @return the legal values of the chosen cell as a mask.
+         */
+        private int chooseCell(int depth) {
+            int best = depth;
+            int bestCandidates = 0;
+            int bestCount = Integer.MAX_VALUE;
+            for (int i = depth; i < emptyCount; i++) {
+                int cell = emptyCells[i];
+                int candidates = constraints.candidates(cell / size, cell % size);
+                int count = Integer.bitCount(candidates);
+                if (count < bestCount) {
+                    best = i;
+                    bestCandidates = candidates;
+                    bestCount = count;
+                    if (count <= 1) break; // Cannot do better than a forced (or impossible) cell
+                }
+            }
+            int cell = emptyCells[best];
+            emptyCells[best] = emptyCells[depth];
+            emptyCells[depth] = cell;
+            return bestCandidates;
+        }
+
+        /**
+         * Backtracking step that fills the remaining empty cells of the grid.
+         *
+         * @param depth the number of empty cells already filled.
+         * @return {@link #SOLVED}, {@link #UNSOLVABLE}, or {@link #ABORTED} if the node budget ran out.
+         */
+        private int solveFrom(int depth) {
+            if (depth == emptyCount) {
+                return SOLVED; // All cells are filled (solution complete)
+            }
+            if (--nodeBudget < 0 || pollCancelled(depth)) {
+                return ABORTED;
+            }
+
+            int remaining = chooseCell(depth);
+            int cell = emptyCells[depth];
+            int row = cell / size;
+            int col = cell % size;
+
+            while (remaining != 0) {
+                int value = random != null ? pickRandomBit(remaining, random) : Integer.numberOfTrailingZeros(remaining);
+                remaining &= ~(1 << value);
+
+                grid[row][col] = value; // Assign a tentative number
+                constraints.place(row, col, value);
+
+                int result = solveFrom(depth + 1); // Recursive call to continue solving
+                if (result == SOLVED) {
+                    return SOLVED; // Solution found
+                }
+
+                // Backtraking: Reset the cell if no solution is found (or the attempt is aborted)
+                constraints.remove(row, col, value);
+                grid[row][col] = 0;
+                if (result == ABORTED) {
+                    return ABORTED;
+                }
+                backtracks++;
+            }
+            return UNSOLVABLE; // No valid number worked, backtrack
+        }
+
+        /**
+         * Exhaustive step that visits every solution until the limit is reached.
+         * The grid is restored before returning.
+         *
+         * @param depth the number of empty cells already filled.
+         * @return {@code true} once the limit has been reached or the search is cancelled.
+         */
+        private boolean enumerateFrom(int depth) {
+            if (depth == emptyCount) {
+                found++;
+                if (consumer != null) {
+                    consumer.accept(copyOf(grid));
+                }
+                return found >= limit;
+            }
+            if (pollCancelled(depth)) {
+                return true;
+            }
+
+            int remaining = chooseCell(depth);
+            int cell = emptyCells[depth];
+            int row = cell / size;
+            int col = cell % size;
+
+            while (remaining != 0) {
+                int value = Integer.numberOfTrailingZeros(remaining);
+                remaining &= remaining - 1;
+
+                grid[row][col] = value;
+                constraints.place(row, col, value);
+                boolean done = enumerateFrom(depth + 1);
+                constraints.remove(row, col, value);
+                grid[row][col] = 0;
+                if (done) {
+                    return true;
+                }
+                backtracks++;
+            }
+            return false;
+        }
+
+    }
+
+}
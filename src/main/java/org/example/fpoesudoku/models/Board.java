@@ -0,0 +1,214 @@
+package org.example.fpoesudoku.models;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Immutable Sudoku board packed into {@code long} words.
+ * Every cell takes just enough bits for the values 0 to n (3 bits on a 6x6 board, so the
+ * whole board fits in two words), and cells never straddle two words. Deriving a board with
+ * one cell changed copies only the words, so boards can be shared between threads and kept
+ * as snapshots without defensive copies.
+ * <p>
+ * Each board carries a Zobrist hash: the XOR of one fixed random key per filled (cell, value)
+ * pair. {@link #with} updates it with two XORs instead of rehashing the board, which makes
+ * boards cheap keys for sets and maps. The keys are generated from a fixed seed, so the hash
+ * of a board is the same on every run.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+public final class Board {
+
+    private static final long ZOBRIST_SEED = 0x5D0C0_5EEDL;
+
+    // Zobrist keys of every board size, indexed by [cell][value]; the keys of value 0 are 0
+    private static final long[][][] ZOBRIST_KEYS = new long[BoardSize.values().length][][];
+
+    static {
+        SplittableRandom random = new SplittableRandom(ZOBRIST_SEED);
+        for (BoardSize boardSize : BoardSize.values()) {
+            long[][] keys = new long[boardSize.getCellCount()][boardSize.getSize() + 1];
+            for (long[] cellKeys : keys) {
+                for (int value = 1; value < cellKeys.length; value++) {
+                    cellKeys[value] = random.nextLong();
+                }
+            }
+            ZOBRIST_KEYS[boardSize.ordinal()] = keys;
+        }
+    }
+
+    private final BoardSize boardSize;
+    private final long[] words;
+    private final long zobrist;
+
+    private Board(BoardSize boardSize, long[] words, long zobrist) {
+        this.boardSize = boardSize;
+        this.words = words;
+        this.zobrist = zobrist;
+    }
+
+    /**
+     * Returns a board with every cell empty.
+     *
+     * @param boardSize the geometry of the board.
+     * @return the empty board.
+     */
+    public static Board empty(BoardSize boardSize) {
+        return new Board(boardSize, new long[wordCount(boardSize)], 0);
+    }
+
+    /**
+     * Packs a grid into a board.
+     *
+     * @param boardSize the geometry of the board.
+     * @param grid      the grid (0 for empty cells); it is not kept.
+     * @return the board.
+     * @throws IllegalArgumentException if a value is outside 0 to n.
+     */
+    public static Board of(BoardSize boardSize, int[][] grid) {
+        int size = boardSize.getSize();
+        int bits = bitsPerCell(boardSize);
+        int cellsPerWord = Long.SIZE / bits;
+        long[][] keys = ZOBRIST_KEYS[boardSize.ordinal()];
+
+        long[] words = new long[wordCount(boardSize)];
+        long zobrist = 0;
+        for (int cell = 0; cell < boardSize.getCellCount(); cell++) {
+            int value = grid[cell / size][cell % size];
+            checkValue(boardSize, value);
+            words[cell / cellsPerWord] |= (long) value << (cell % cellsPerWord * bits);
+            zobrist ^= keys[cell][value];
+        }
+        return new Board(boardSize, words, zobrist);
+    }
+
+    /**
+     * @return the geometry of the board.
+     */
+    public BoardSize getBoardSize() { return boardSize; }
+
+    /**
+     * Returns the value of a cell.
+     *
+     * @param row the row index.
+     * @param col the column index.
+     * @return the value, or 0 if the cell is empty.
+     */
+    public int get(int row, int col) {
+        int bits = bitsPerCell(boardSize);
+        int cellsPerWord = Long.SIZE / bits;
+        int cell = row * boardSize.getSize() + col;
+        return (int) (words[cell / cellsPerWord] >>> (cell % cellsPerWord * bits)) & ((1 << bits) - 1);
+    }
+
+    /**
+     * Returns a board equal to this one except for one cell. The hash is updated
+     * incrementally, and this board is returned as is if the cell already holds the value.
+     *
+     * @param row   the row index.
+     * @param col   the column index.
+     * @param value the new value, or 0 to empty the cell.
+     * @return the derived board.
+     * @throws IllegalArgumentException if the value is outside 0 to n.
+     */
+    public Board with(int row, int col, int value) {
+        checkValue(boardSize, value);
+        int old = get(row, col);
+        if (old == value) {
+            return this;
+        }
+        int bits = bitsPerCell(boardSize);
+        int cellsPerWord = Long.SIZE / bits;
+        int cell = row * boardSize.getSize() + col;
+        int shift = cell % cellsPerWord * bits;
+
+        long[] changed = words.clone();
+        changed[cell / cellsPerWord] = changed[cell / cellsPerWord] & ~(((1L << bits) - 1) << shift)
+                | (long) value << shift;
+        long[] keys = ZOBRIST_KEYS[boardSize.ordinal()][cell];
+        return new Board(boardSize, changed, zobrist ^ keys[old] ^ keys[value]);
+    }
+
+    /**
+     * @return the number of filled cells.
+     */
+    public int filledCount() {
+        int filled = 0;
+        for (int cell = 0; cell < boardSize.getCellCount(); cell++) {
+            if (get(cell / boardSize.getSize(), cell % boardSize.getSize()) != 0) {
+                filled++;
+            }
+        }
+        return filled;
+    }
+
+    /**
+     * Unpacks the board into a new grid, which the caller is free to modify.
+     *
+     * @return the grid, with 0 for empty cells.
+     */
+    public int[][] toGrid() {
+        int size = boardSize.getSize();
+        int[][] grid = new int[size][size];
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                grid[row][col] = get(row, col);
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * @return the 64-bit Zobrist hash of the board.
+     */
+    public long zobristHash() { return zobrist; }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof Board board)) {
+            return false;
+        }
+        return boardSize == board.boardSize && zobrist == board.zobrist && Arrays.equals(words, board.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(zobrist);
+    }
+
+    /**
+     * @return the board in the one-line {@link PuzzleFormat} text format.
+     */
+    @Override
+    public String toString() {
+        return PuzzleFormat.format(toGrid());
+    }
+
+    /**
+     * Returns the number of bits of a cell: enough for the values 0 to n.
+     */
+    private static int bitsPerCell(BoardSize boardSize) {
+        return Integer.SIZE - Integer.numberOfLeadingZeros(boardSize.getSize());
+    }
+
+    /**
+     * Returns the number of words of a board.
+     */
+    private static int wordCount(BoardSize boardSize) {
+        int cellsPerWord = Long.SIZE / bitsPerCell(boardSize);
+        return (boardSize.getCellCount() + cellsPerWord - 1) / cellsPerWord;
+    }
+
+    /**
+     * Rejects values that do not fit the board.
+     */
+    private static void checkValue(BoardSize boardSize, int value) {
+        if (value < 0 || value > boardSize.getSize()) {
+            throw new IllegalArgumentException("Invalid value " + value + " for a " + boardSize + " board");
+        }
+    }
+
+}
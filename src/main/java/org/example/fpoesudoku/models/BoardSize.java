@@ -0,0 +1,115 @@
+package org.example.fpoesudoku.models;
+
+/**
+ * Supported Sudoku board geometries.
+ * Each size defines the side of the board and the shape of its sub-quadrants
+ * ({@code boxRows} rows by {@code boxColumns} columns).
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+public enum BoardSize {
+
+    FOUR(4, 2, 2),
+    SIX(6, 2, 3),
+    EIGHT(8, 2, 4),
+    NINE(9, 3, 3),
+    TWELVE(12, 3, 4),
+    SIXTEEN(16, 4, 4),
+    TWENTY_FIVE(25, 5, 5);
+
+    private final int size;
+    private final int boxRows;
+    private final int boxColumns;
+    private final int[][] units;
+
+    BoardSize(int size, int boxRows, int boxColumns) {
+        this.size = size;
+        this.boxRows = boxRows;
+        this.boxColumns = boxColumns;
+
+        // Rows first, then columns, then quadrants; each unit lists its row-major cell indices
+        this.units = new int[3 * size][size];
+        int[] quadrantFill = new int[size];
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                int cell = row * size + col;
+                units[row][col] = cell;
+                units[size + col][row] = cell;
+                int quadrant = (row / boxRows) * (size / boxColumns) + col / boxColumns;
+                units[2 * size + quadrant][quadrantFill[quadrant]++] = cell;
+            }
+        }
+    }
+
+    /**
+     * @return the number of rows (and columns) of the board, which is also the highest value.
+     */
+    public int getSize() { return size; }
+
+    /**
+     * @return the number of rows in every sub-quadrant.
+     */
+    public int getBoxRows() { return boxRows; }
+
+    /**
+     * @return the number of columns in every sub-quadrant.
+     */
+    public int getBoxColumns() { return boxColumns; }
+
+    /**
+     * @return the total number of cells on the board.
+     */
+    public int getCellCount() { return size * size; }
+
+    /**
+     * Returns a mask with bits 1 to {@code size} set, one bit per possible value.
+     *
+     * @return the mask of all values.
+     */
+    public int getAllValuesMask() {
+        return ((1 << (size + 1)) - 1) & ~1;
+    }
+
+    /**
+     * Returns the zero-based index of the sub-quadrant that contains a cell.
+     * Quadrants are numbered left to right, top to bottom.
+     *
+     * @param row    The row index.
+     * @param column The column index.
+     * @return The quadrant index (0 to size - 1).
+     */
+    public int quadrantIndex(int row, int column) {
+        return (row / boxRows) * (size / boxColumns) + column / boxColumns;
+    }
+
+    /**
+     * Returns the cells of every row, column and quadrant as row-major indices.
+     * Units {@code 0..size-1} are the rows, {@code size..2*size-1} the columns and
+     * {@code 2*size..3*size-1} the quadrants. The arrays are shared and must not be modified.
+     *
+     * @return the cells of every unit.
+     */
+    public int[][] getUnits() { return units; }
+
+    /**
+     * Finds the board size whose side matches the given value.
+     *
+     * @param size the number of rows of the board.
+     * @return the matching board size.
+     * @throws IllegalArgumentException if the size is not supported.
+     */
+    public static BoardSize fromSize(int size) {
+        for (BoardSize boardSize : values()) {
+            if (boardSize.size == size) {
+                return boardSize;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported board size: " + size);
+    }
+
+    @Override
+    public String toString() {
+        return size + "x" + size;
+    }
+
+}
@@ -0,0 +1,409 @@
+package org.example.fpoesudoku.models;
+
+import org.example.fpoesudoku.metrics.Counter;
+import org.example.fpoesudoku.metrics.Metrics;
+import org.example.fpoesudoku.metrics.SolveEvent;
+
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Exact-cover solver based on Knuth's Algorithm X with Dancing Links.
+ * Every placement (row, column, value) is a matrix row covering four constraint columns:
+ * the cell is filled, and the value appears once in its row, its column and its quadrant.
+ * Only placements compatible with the given clues are added to the matrix, and columns
+ * already satisfied by the clues are left out of the header list.
+ * <p>
+ * The links are stored in parallel {@code int} arrays instead of node objects, so building
+ * and searching the matrix allocates only a handful of arrays per call.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+public class DancingLinksSolver implements SudokuSolver {
+
+    // Totals of every search, added once per search so the hot loop only touches plain fields
+    private static final Counter NODES = Metrics.getInstance().counter("solver.nodes");
+    private static final Counter BACKTRACKS = Metrics.getInstance().counter("solver.backtracks");
+
+    @Override
+    public boolean solve(BoardSize boardSize, int[][] grid, Random random, SearchMonitor monitor) {
+        SolveEvent event = new SolveEvent();
+        event.begin();
+        Matrix matrix = Matrix.build(boardSize, grid);
+        if (matrix == null) {
+            publishRejected(event, "solve", boardSize);
+            return false;
+        }
+        matrix.random = random;
+        matrix.monitor = monitor;
+        matrix.limit = 1;
+
+        if (random == null) {
+            matrix.nodeBudget = Long.MAX_VALUE; // A fixed order gains nothing from restarts
+            matrix.search(0);
+        } else {
+            long budget = 64L * (boardSize.getCellCount() + 1);
+            do {
+                matrix.aborted = false;
+                matrix.nodeBudget = budget;
+                matrix.search(0);
+                budget *= 2; // Restart with more room, the matrix is back to its initial state
+            } while (matrix.aborted && !matrix.cancelled);
+        }
+        matrix.publishMetrics(event, "solve");
+
+        if (matrix.found == 0 || matrix.cancelled) {
+            return false;
+        }
+        matrix.writeSolution(grid);
+        return true;
+    }
+
+    @Override
+    public long enumerateSolutions(BoardSize boardSize, int[][] grid, long limit, Consumer<int[][]> consumer,
+                                   SearchMonitor monitor) {
+        SolveEvent event = new SolveEvent();
+        event.begin();
+        Matrix matrix = Matrix.build(boardSize, grid);
+        if (matrix == null || limit <= 0) {
+            publishRejected(event, "enumerate", boardSize);
+            return 0;
+        }
+        matrix.monitor = monitor;
+        matrix.nodeBudget = Long.MAX_VALUE;
+        matrix.limit = limit;
+        if (consumer != null) {
+            matrix.consumer = consumer;
+            matrix.template = grid;
+        }
+        matrix.search(0);
+        matrix.publishMetrics(event, "enumerate");
+        return matrix.found;
+    }
+
+    /**
+     * Records a run that ended before any search, because the clues conflict or no solution
+     * was asked for.
+     *
+     * @param event the event begun by the run.
+     * @param mode {@code "solve"} or {@code "enumerate"}.
+     * @param boardSize the board dimensions.
+     */
+    private static void publishRejected(SolveEvent event, String mode, BoardSize boardSize) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.solver = "dlx";
+            event.mode = mode;
+            event.boardSize = boardSize.getSize();
+            event.commit();
+        }
+    }
+
+    /**
+     * Toroidal doubly linked matrix. Node 0 is the root, nodes 1 to {@code columnCount} are
+     * column headers and the remaining nodes belong to placement rows (four nodes each).
+     */
+    private static class Matrix {
+
+        private final int size;
+        private final int[] left;
+        private final int[] right;
+        private final int[] up;
+        private final int[] down;
+        private final int[] column;
+        private final int[] columnSize;
+        private final int[] placementCell;  // Row-major cell of every placement, indexed by first node
+        private final int[] placementValue; // Value of every placement, indexed by first node
+        private final int[] firstNode;      // First node of the placement each node belongs to
+        private final int[] chosen;         // Placement chosen at every depth
+        private final int[][] orderBuffer;  // Scratch space to shuffle rows at every depth
+
+        private Random random;
+        private SearchMonitor monitor;
+        private long nodes;
+        private long backtracks;
+        private long nodeBudget;
+        private boolean aborted;
+        private boolean cancelled;
+        private long limit;
+        private long found;
+        private Consumer<int[][]> consumer;
+        private int[][] template;
+        private int[] solution;
+        private int solutionDepth;
+
+        private Matrix(BoardSize boardSize, int placements, int emptyCells) {
+            this.size = boardSize.getSize();
+            int columnCount = 4 * boardSize.getCellCount();
+            int nodes = 1 + columnCount + 4 * placements;
+            left = new int[nodes];
+            right = new int[nodes];
+            up = new int[nodes];
+            down = new int[nodes];
+            column = new int[nodes];
+            columnSize = new int[columnCount + 1];
+            placementCell = new int[nodes];
+            placementValue = new int[nodes];
+            firstNode = new int[nodes];
+            chosen = new int[emptyCells + 1];
+            orderBuffer = new int[emptyCells + 1][size];
+        }
+
+        /**
+         * Builds the exact-cover matrix for the given puzzle.
+         *
+         * @param boardSize the geometry of the board.
+         * @param grid      the puzzle (0 for empty cells).
+         * @return the matrix, or {@code null} if the clues already repeat a value.
+         */
+        static Matrix build(BoardSize boardSize, int[][] grid) {
+            SudokuConstraints constraints = new SudokuConstraints(boardSize);
+            if (!constraints.load(grid)) {
+                return null;
+            }
+
+            int size = boardSize.getSize();
+            int cells = boardSize.getCellCount();
+            int placements = 0;
+            int emptyCells = 0;
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    if (grid[row][col] == 0) {
+                        emptyCells++;
+                        placements += Integer.bitCount(constraints.candidates(row, col));
+                    }
+                }
+            }
+
+            Matrix matrix = new Matrix(boardSize, placements, emptyCells);
+            int columnCount = 4 * cells;
+
+            // Column headers start as self-linked vertical lists
+            for (int c = 0; c <= columnCount; c++) {
+                matrix.up[c] = c;
+                matrix.down[c] = c;
+                matrix.column[c] = c;
+            }
+
+            // Link into the header list only the constraints the clues leave open
+            boolean[] open = new boolean[columnCount + 1];
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    if (grid[row][col] == 0) {
+                        open[1 + row * size + col] = true;
+                    }
+                }
+            }
+            for (int unit = 0; unit < size; unit++) {
+                for (int value = 1; value <= size; value++) {
+                    open[1 + cells + unit * size + value - 1] = !constraints.rowContains(unit, value);
+                    open[1 + 2 * cells + unit * size + value - 1] = !constraints.columnContains(unit, value);
+                }
+            }
+            for (int row = 0; row < size; row += boardSize.getBoxRows()) {
+                for (int col = 0; col < size; col += boardSize.getBoxColumns()) {
+                    int quadrant = boardSize.quadrantIndex(row, col);
+                    for (int value = 1; value <= size; value++) {
+                        open[1 + 3 * cells + quadrant * size + value - 1] = !constraints.quadrantContains(row, col, value);
+                    }
+                }
+            }
+            int last = 0;
+            for (int c = 1; c <= columnCount; c++) {
+                if (open[c]) {
+                    matrix.right[last] = c;
+                    matrix.left[c] = last;
+                    last = c;
+                }
+            }
+            matrix.right[last] = 0;
+            matrix.left[0] = last;
+
+            // One row of four nodes per legal placement, in row, column, value order
+            int node = columnCount + 1;
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    if (grid[row][col] != 0) continue;
+                    int quadrant = boardSize.quadrantIndex(row, col);
+                    int candidates = constraints.candidates(row, col);
+                    while (candidates != 0) {
+                        int value = Integer.numberOfTrailingZeros(candidates);
+                        candidates &= candidates - 1;
+
+                        int first = node;
+                        matrix.placementCell[first] = row * size + col;
+                        matrix.placementValue[first] = value;
+                        matrix.appendNode(first, 1 + row * size + col, first);
+                        matrix.appendNode(first + 1, 1 + cells + row * size + value - 1, first);
+                        matrix.appendNode(first + 2, 1 + 2 * cells + col * size + value - 1, first);
+                        matrix.appendNode(first + 3, 1 + 3 * cells + quadrant * size + value - 1, first);
+                        for (int i = 0; i < 4; i++) { // Circular horizontal links
+                            matrix.left[first + i] = first + (i + 3) % 4;
+                            matrix.right[first + i] = first + (i + 1) % 4;
+                        }
+                        node += 4;
+                    }
+                }
+            }
+            return matrix;
+        }
+
+        /**
+         * Appends a node at the bottom of a column.
+         */
+        private void appendNode(int node, int col, int first) {
+            column[node] = col;
+            firstNode[node] = first;
+            up[node] = up[col];
+            down[node] = col;
+            down[up[col]] = node;
+            up[col] = node;
+            columnSize[col]++;
+        }
+
+        private void cover(int col) {
+            right[left[col]] = right[col];
+            left[right[col]] = left[col];
+            for (int i = down[col]; i != col; i = down[i]) {
+                for (int j = right[i]; j != i; j = right[j]) {
+                    down[up[j]] = down[j];
+                    up[down[j]] = up[j];
+                    columnSize[column[j]]--;
+                }
+            }
+        }
+
+        private void uncover(int col) {
+            for (int i = up[col]; i != col; i = up[i]) {
+                for (int j = left[i]; j != i; j = left[j]) {
+                    columnSize[column[j]]++;
+                    down[up[j]] = j;
+                    up[down[j]] = j;
+                }
+            }
+            right[left[col]] = col;
+            left[right[col]] = col;
+        }
+
+        /**
+         * Algorithm X step: covers the open column with the fewest rows and tries each of them.
+         *
+         * @param depth the number of placements chosen so far.
+         * @return {@code true} when the search must stop (limit reached, budget exhausted or cancelled).
+         */
+        boolean search(int depth) {
+            if (right[0] == 0) {
+                found++;
+                if (solution == null) {
+                    solution = chosen.clone();
+                    solutionDepth = depth;
+                }
+                if (consumer != null) {
+                    int[][] copy = BacktrackingSolver.copyOf(template);
+                    for (int i = 0; i < depth; i++) {
+                        copy[placementCell[chosen[i]] / size][placementCell[chosen[i]] % size] = placementValue[chosen[i]];
+                    }
+                    consumer.accept(copy);
+                }
+                return found >= limit;
+            }
+            if (--nodeBudget < 0) {
+                aborted = true;
+                return true;
+            }
+            if ((++nodes & (SearchMonitor.POLL_INTERVAL - 1)) == 0) {
+                monitor.onProgress(depth);
+                if (monitor.isCancelled()) {
+                    cancelled = true;
+                }
+            }
+            if (cancelled) {
+                return true;
+            }
+
+            // Choose the column with the fewest remaining rows
+            int col = right[0];
+            for (int c = right[col]; c != 0; c = right[c]) {
+                if (columnSize[c] < columnSize[col]) {
+                    col = c;
+                    if (columnSize[col] <= 1) break;
+                }
+            }
+            if (columnSize[col] == 0) {
+                return false;
+            }
+
+            // Collect the rows of the column, in random order if requested
+            int[] order = orderBuffer[depth];
+            int count = 0;
+            for (int i = down[col]; i != col; i = down[i]) {
+                order[count++] = i;
+            }
+            if (random != null) {
+                for (int i = count - 1; i > 0; i--) {
+                    int j = random.nextInt(i + 1);
+                    int tmp = order[i];
+                    order[i] = order[j];
+                    order[j] = tmp;
+                }
+            }
+
+            cover(col);
+            for (int k = 0; k < count; k++) {
+                int row = order[k];
+                chosen[depth] = firstNode[row];
+                for (int j = right[row]; j != row; j = right[j]) {
+                    cover(column[j]);
+                }
+                boolean stop = search(depth + 1);
+                for (int j = left[row]; j != row; j = left[j]) {
+                    uncover(column[j]);
+                }
+                if (stop) {
+                    uncover(col);
+                    return true;
+                }
+                backtracks++;
+            }
+            uncover(col);
+            return false;
+        }
+
+        /**
+         * Adds the nodes visited and the backtracks of this search to the application metrics,
+         * and ends its Flight Recorder event.
+         *
+         * @param event the event begun with the search.
+         * @param mode  {@code solve} or {@code enumerate}.
+         */
+        void publishMetrics(SolveEvent event, String mode) {
+            NODES.add(nodes);
+            BACKTRACKS.add(backtracks);
+            event.end();
+            if (event.shouldCommit()) {
+                event.solver = "dlx";
+                event.mode = mode;
+                event.boardSize = size;
+                event.nodes = nodes;
+                event.backtracks = backtracks;
+                event.solutions = found;
+                event.cancelled = cancelled;
+                event.commit();
+            }
+        }
+
+        /**
+         * Copies the first solution found into the grid.
+         *
+         * @param grid the grid to fill.
+         */
+        void writeSolution(int[][] grid) {
+            for (int i = 0; i < solutionDepth; i++) {
+                int placement = solution[i];
+                grid[placementCell[placement] / size][placementCell[placement] % size] = placementValue[placement];
+            }
+        }
+
+    }
+
+}
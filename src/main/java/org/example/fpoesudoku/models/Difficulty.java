@@ -0,0 +1,42 @@
+package org.example.fpoesudoku.models;
+
+/**
+ * Difficulty levels of a generated puzzle.
+ * Each level sets the share of cells the generator tries to empty; the generator may
+ * leave more clues if removing them would break the uniqueness of the solution.
+ * {@link #EXPERT} puzzles are minimal: every clue that can go without a second solution
+ * appearing is removed.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+public enum Difficulty {
+
+    EASY("Fácil", 0.50),
+    MEDIUM("Medio", 2.0 / 3.0),
+    HARD("Difícil", 0.80),
+    EXPERT("Experto", 1.0);
+
+    private final String label;
+    private final double emptyRatio;
+
+    Difficulty(String label, double emptyRatio) {
+        this.label = label;
+        this.emptyRatio = emptyRatio;
+    }
+
+    /**
+     * Returns how many cells the generator should try to empty on a board of the given size.
+     *
+     * @param boardSize the geometry of the board.
+     * @return the target number of empty cells.
+     */
+    public int cellsToRemove(BoardSize boardSize) {
+        return (int) (boardSize.getCellCount() * emptyRatio);
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+
+}
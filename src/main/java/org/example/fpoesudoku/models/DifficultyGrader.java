@@ -0,0 +1,443 @@
+package org.example.fpoesudoku.models;
+
+/**
+ * Rates a puzzle by solving it the way a person would, using only logical techniques.
+ * The techniques are tried from the simplest to the hardest, always going back to the
+ * simplest one after any progress: naked and hidden singles, naked and hidden pairs,
+ * pointing (a value confined to one line inside a quadrant) and box-line reduction
+ * (a value confined to one quadrant inside a line).
+ * <p>
+ * The difficulty is decided by the hardest technique the puzzle needs: singles only is
+ * {@link Difficulty#EASY}, pairs or intersections make it {@link Difficulty#MEDIUM}, and a
+ * puzzle these techniques cannot finish is {@link Difficulty#HARD}. A numeric score (the sum
+ * of the weights of every step) allows finer comparisons.
+ * <p>
+ * A grader reuses its working arrays across calls and allocates nothing while grading, so
+ * large corpora can be graded quickly. It is not thread-safe: use one instance per thread,
+ * for example through {@link #forCurrentThread()}. The {@link HintEngine} drives a grader of
+ * its own one step at a time to explain the next deduction to the player, or borrows the
+ * grader of the thread for a one-off hint.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+public class DifficultyGrader {
+
+    /**
+     * Logical techniques known to the grader, from the simplest to the hardest.
+     */
+    public enum Technique {
+        NAKED_SINGLE(1, Difficulty.EASY),
+        HIDDEN_SINGLE(2, Difficulty.EASY),
+        POINTING(5, Difficulty.MEDIUM),
+        BOX_LINE_REDUCTION(5, Difficulty.MEDIUM),
+        NAKED_PAIR(6, Difficulty.MEDIUM),
+        HIDDEN_PAIR(8, Difficulty.MEDIUM);
+
+        private final int weight;
+        private final Difficulty difficulty;
+
+        Technique(int weight, Difficulty difficulty) {
+            this.weight = weight;
+            this.difficulty = difficulty;
+        }
+
+        /**
+         * @return the score added every time the technique makes progress.
+         */
+        public int getWeight() { return weight; }
+
+        /**
+         * @return the difficulty of a puzzle that needs this technique.
+         */
+        public Difficulty getDifficulty() { return difficulty; }
+    }
+
+    private static final ThreadLocal<DifficultyGrader> THREAD_GRADER = ThreadLocal.withInitial(DifficultyGrader::new);
+    private static final Technique[] TECHNIQUES = Technique.values();
+
+    private static final int MAX_CELLS = 25 * 25;
+    private static final int MAX_SIZE = 25;
+
+    // Working state, reused by every call to grade
+    private final int[] values = new int[MAX_CELLS];
+    private final int[] candidates = new int[MAX_CELLS];
+    private final int[] positions = new int[MAX_SIZE + 1];
+    private final int[] techniqueCounts = new int[TECHNIQUES.length];
+    private BoardSize boardSize;
+    private int size;
+    private int emptyCells;
+    private int score;
+    private Technique hardest;
+    private boolean solved;
+
+    /**
+     * Returns the grader of the calling thread, created on first use.
+     *
+     * @return a grader that only the calling thread uses.
+     */
+    public static DifficultyGrader forCurrentThread() {
+        return THREAD_GRADER.get();
+    }
+
+    /**
+     * Solves the puzzle logically and rates it. The details of the run can be read
+     * afterwards with {@link #getScore()}, {@link #getHardestTechnique()},
+     * {@link #getTechniqueCount(Technique)} and {@link #isSolved()}.
+     *
+     * @param boardSize the geometry of the board.
+     * @param puzzle    the puzzle to rate (0 for empty cells); it is not modified.
+     * @return the difficulty of the puzzle.
+     */
+    public Difficulty grade(BoardSize boardSize, int[][] puzzle) {
+        load(boardSize, puzzle);
+        while (emptyCells > 0 && step()) {
+            // Keep applying the simplest technique that makes progress
+        }
+        solved = emptyCells == 0;
+        if (!solved) {
+            return Difficulty.HARD;
+        }
+        return hardest == null ? Difficulty.EASY : hardest.getDifficulty();
+    }
+
+    /**
+     * @return the sum of the technique weights of the last run.
+     */
+    public int getScore() { return score; }
+
+    /**
+     * @return the hardest technique used in the last run, or {@code null} if none was needed.
+     */
+    public Technique getHardestTechnique() { return hardest; }
+
+    /**
+     * @param technique a technique.
+     * @return how many times the technique made progress in the last run.
+     */
+    public int getTechniqueCount(Technique technique) { return techniqueCounts[technique.ordinal()]; }
+
+    /**
+     * @return {@code true} if the last run filled the whole board.
+     */
+    public boolean isSolved() { return solved; }
+
+    /**
+     * Copies the puzzle into the working arrays and computes the candidates of every cell.
+     */
+    void load(BoardSize boardSize, int[][] puzzle) {
+        this.boardSize = boardSize;
+        this.size = boardSize.getSize();
+        this.emptyCells = 0;
+        this.score = 0;
+        this.hardest = null;
+        for (int i = 0; i < techniqueCounts.length; i++) {
+            techniqueCounts[i] = 0;
+        }
+
+        int all = boardSize.getAllValuesMask();
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                int cell = row * size + col;
+                values[cell] = puzzle[row][col];
+                candidates[cell] = puzzle[row][col] == 0 ? all : 0;
+                if (puzzle[row][col] == 0) {
+                    emptyCells++;
+                }
+            }
+        }
+        for (int cell = 0; cell < size * size; cell++) {
+            if (values[cell] != 0) {
+                eliminateFromPeers(cell, 1 << values[cell]);
+            }
+        }
+    }
+
+    /**
+     * Applies the simplest technique that makes progress.
+     *
+     * @return {@code false} if no technique applies (or the puzzle is contradictory).
+     */
+    private boolean step() {
+        for (Technique technique : TECHNIQUES) {
+            int progress = switch (technique) {
+                case NAKED_SINGLE -> nakedSingles();
+                case HIDDEN_SINGLE -> hiddenSingles();
+                case POINTING -> pointing();
+                case BOX_LINE_REDUCTION -> boxLineReduction();
+                case NAKED_PAIR -> nakedPairs();
+                case HIDDEN_PAIR -> hiddenPairs();
+            };
+            if (progress < 0) {
+                return false; // Contradiction: a cell has no candidate left
+            }
+            if (progress > 0) {
+                techniqueCounts[technique.ordinal()] += progress;
+                score += progress * technique.getWeight();
+                if (hardest == null || technique.ordinal() > hardest.ordinal()) {
+                    hardest = technique;
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Applies the simplest elimination technique (pointing, box-line reduction or pairs)
+     * that removes at least one candidate, without filling any cell.
+     *
+     * @return the technique applied, or {@code null} if none makes progress.
+     */
+    Technique eliminate() {
+        for (Technique technique : TECHNIQUES) {
+            int progress = switch (technique) {
+                case NAKED_SINGLE, HIDDEN_SINGLE -> 0;
+                case POINTING -> pointing();
+                case BOX_LINE_REDUCTION -> boxLineReduction();
+                case NAKED_PAIR -> nakedPairs();
+                case HIDDEN_PAIR -> hiddenPairs();
+            };
+            if (progress > 0) {
+                return technique;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param cell a row-major cell index.
+     * @return the value of the cell in the working state, 0 if it is still empty.
+     */
+    int valueAt(int cell) { return values[cell]; }
+
+    /**
+     * @param cell a row-major cell index.
+     * @return the mask of the values still possible in the cell.
+     */
+    int candidatesAt(int cell) { return candidates[cell]; }
+
+    /**
+     * Fills a cell and removes its value from the candidates of its row, column and quadrant.
+     */
+    void place(int cell, int value) {
+        values[cell] = value;
+        candidates[cell] = 0;
+        emptyCells--;
+        eliminateFromPeers(cell, 1 << value);
+    }
+
+    private void eliminateFromPeers(int cell, int bit) {
+        int[][] units = boardSize.getUnits();
+        int row = cell / size;
+        int col = cell % size;
+        for (int peer : units[row]) candidates[peer] &= ~bit;
+        for (int peer : units[size + col]) candidates[peer] &= ~bit;
+        for (int peer : units[2 * size + boardSize.quadrantIndex(row, col)]) candidates[peer] &= ~bit;
+    }
+
+    /**
+     * @return the number of cells filled, or -1 if an empty cell has no candidate.
+     */
+    private int nakedSingles() {
+        int placed = 0;
+        for (int cell = 0; cell < size * size; cell++) {
+            if (values[cell] != 0) continue;
+            int mask = candidates[cell];
+            if (mask == 0) {
+                return -1;
+            }
+            if ((mask & (mask - 1)) == 0) {
+                place(cell, Integer.numberOfTrailingZeros(mask));
+                placed++;
+            }
+        }
+        return placed;
+    }
+
+    /**
+     * @return the number of cells filled because a value had only one place in a unit.
+     */
+    private int hiddenSingles() {
+        int placed = 0;
+        for (int[] unit : boardSize.getUnits()) {
+            int seenOnce = 0;
+            int seenTwice = 0;
+            for (int cell : unit) {
+                seenTwice |= seenOnce & candidates[cell];
+                seenOnce |= candidates[cell];
+            }
+            int hidden = seenOnce & ~seenTwice;
+            while (hidden != 0) {
+                int bit = hidden & -hidden;
+                hidden &= hidden - 1;
+                for (int cell : unit) {
+                    if ((candidates[cell] & bit) != 0) {
+                        place(cell, Integer.numberOfTrailingZeros(bit));
+                        placed++;
+                        break;
+                    }
+                }
+            }
+        }
+        return placed;
+    }
+
+    /**
+     * Fills {@link #positions} with, for every value, the mask of unit positions where it
+     * is still a candidate.
+     */
+    private void collectPositions(int[] unit) {
+        for (int value = 1; value <= size; value++) {
+            positions[value] = 0;
+        }
+        for (int i = 0; i < unit.length; i++) {
+            int mask = candidates[unit[i]];
+            while (mask != 0) {
+                positions[Integer.numberOfTrailingZeros(mask)] |= 1 << i;
+                mask &= mask - 1;
+            }
+        }
+    }
+
+    /**
+     * @return the number of eliminations made by two cells of a unit sharing the same two candidates.
+     */
+    private int nakedPairs() {
+        int eliminated = 0;
+        for (int[] unit : boardSize.getUnits()) {
+            for (int i = 0; i < unit.length; i++) {
+                int pair = candidates[unit[i]];
+                if (Integer.bitCount(pair) != 2) continue;
+                for (int j = i + 1; j < unit.length; j++) {
+                    if (candidates[unit[j]] != pair) continue;
+                    for (int k = 0; k < unit.length; k++) {
+                        if (k != i && k != j && (candidates[unit[k]] & pair) != 0) {
+                            candidates[unit[k]] &= ~pair;
+                            eliminated++;
+                        }
+                    }
+                }
+            }
+        }
+        return eliminated;
+    }
+
+    /**
+     * @return the number of cells restricted because two values share the same two places in a unit.
+     */
+    private int hiddenPairs() {
+        int restricted = 0;
+        for (int[] unit : boardSize.getUnits()) {
+            collectPositions(unit);
+            for (int a = 1; a <= size; a++) {
+                if (Integer.bitCount(positions[a]) != 2) continue;
+                for (int b = a + 1; b <= size; b++) {
+                    if (positions[b] != positions[a]) continue;
+                    int pair = (1 << a) | (1 << b);
+                    int places = positions[a];
+                    while (places != 0) {
+                        int cell = unit[Integer.numberOfTrailingZeros(places)];
+                        places &= places - 1;
+                        if ((candidates[cell] & ~pair) != 0) {
+                            candidates[cell] &= pair;
+                            restricted++;
+                        }
+                    }
+                }
+            }
+        }
+        return restricted;
+    }
+
+    /**
+     * @return the number of eliminations made because a value inside a quadrant is confined to
+     *         one row or column, so it cannot appear elsewhere in that line.
+     */
+    private int pointing() {
+        int eliminated = 0;
+        int[][] units = boardSize.getUnits();
+        for (int quadrant = 0; quadrant < size; quadrant++) {
+            int[] box = units[2 * size + quadrant];
+            collectPositions(box);
+            for (int value = 1; value <= size; value++) {
+                int places = positions[value];
+                if (places == 0) continue;
+                int first = box[Integer.numberOfTrailingZeros(places)];
+                boolean sameRow = true;
+                boolean sameCol = true;
+                for (int rest = places; rest != 0; rest &= rest - 1) {
+                    int cell = box[Integer.numberOfTrailingZeros(rest)];
+                    sameRow &= cell / size == first / size;
+                    sameCol &= cell % size == first % size;
+                }
+                if (sameRow) {
+                    eliminated += eliminateOutside(units[first / size], quadrant, value);
+                }
+                if (sameCol) {
+                    eliminated += eliminateOutside(units[size + first % size], quadrant, value);
+                }
+            }
+        }
+        return eliminated;
+    }
+
+    /**
+     * @return the number of eliminations made because a value inside a row or column is
+     *         confined to one quadrant, so it cannot appear elsewhere in that quadrant.
+     */
+    private int boxLineReduction() {
+        int eliminated = 0;
+        int[][] units = boardSize.getUnits();
+        for (int line = 0; line < 2 * size; line++) {
+            int[] unit = units[line];
+            collectPositions(unit);
+            for (int value = 1; value <= size; value++) {
+                int places = positions[value];
+                if (places == 0) continue;
+                int firstCell = unit[Integer.numberOfTrailingZeros(places)];
+                int quadrant = boardSize.quadrantIndex(firstCell / size, firstCell % size);
+                boolean sameQuadrant = true;
+                for (int rest = places; rest != 0; rest &= rest - 1) {
+                    int cell = unit[Integer.numberOfTrailingZeros(rest)];
+                    sameQuadrant &= boardSize.quadrantIndex(cell / size, cell % size) == quadrant;
+                }
+                if (sameQuadrant) {
+                    eliminated += eliminateOutsideLine(units[2 * size + quadrant], line, value);
+                }
+            }
+        }
+        return eliminated;
+    }
+
+    /**
+     * Removes a candidate from the cells of a line that are outside the given quadrant.
+     */
+    private int eliminateOutside(int[] line, int quadrant, int value) {
+        int eliminated = 0;
+        int bit = 1 << value;
+        for (int cell : line) {
+            if ((candidates[cell] & bit) != 0 && boardSize.quadrantIndex(cell / size, cell % size) != quadrant) {
+                candidates[cell] &= ~bit;
+                eliminated++;
+            }
+        }
+        return eliminated;
+    }
+
+    /**
+     * Removes a candidate from the cells of a quadrant that are outside the given row or column.
+     */
+    private int eliminateOutsideLine(int[] box, int line, int value) {
+        int eliminated = 0;
+        int bit = 1 << value;
+        for (int cell : box) {
+            boolean inLine = line < size ? cell / size == line : cell % size == line - size;
+            if (!inLine && (candidates[cell] & bit) != 0) {
+                candidates[cell] &= ~bit;
+                eliminated++;
+            }
+        }
+        return eliminated;
+    }
+
+}
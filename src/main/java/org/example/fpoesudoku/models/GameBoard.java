@@ -0,0 +1,223 @@
+package org.example.fpoesudoku.models;
+
+import java.util.Arrays;
+
+/**
+ * Board being played: the clues of the puzzle plus the values entered by the player.
+ * For every row, column and quadrant it keeps how many times each value appears, so an
+ * edit updates three counters and tells right away whether a cell repeats a value, without
+ * scanning the board. A running total of the repeated values makes checking whether the
+ * board is solved a constant-time test as well.
+ * <p>
+ * Each unit also keeps a mask of the values it contains, updated with its counters, so the
+ * candidates of a cell (the values none of its units contain yet) are three mask reads away.
+ * An edit never recomputes the candidates of its peers: they are derived when asked for.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+public class GameBoard {
+
+    private final BoardSize boardSize;
+    private final Board initial;
+    private final int[] values;         // Row-major values, 0 for empty cells
+    private final int[][] rowCounts;    // Occurrences of every value in every row
+    private final int[][] columnCounts; // Occurrences of every value in every column
+    private final int[][] quadrantCounts; // Occurrences of every value in every quadrant
+    private final int[] rowMasks;       // Values present in every row (bit v set)
+    private final int[] columnMasks;    // Values present in every column
+    private final int[] quadrantMasks;  // Values present in every quadrant
+    private int filled;
+    private int conflicts; // Extra copies of values over all units (0 when nothing repeats)
+
+    /**
+     * Creates a board that starts at the given clues.
+     *
+     * @param initial the clues of the puzzle; these cells cannot be edited.
+     */
+    public GameBoard(Board initial) {
+        this.boardSize = initial.getBoardSize();
+        this.initial = initial;
+        int size = boardSize.getSize();
+        this.values = new int[boardSize.getCellCount()];
+        this.rowCounts = new int[size][size + 1];
+        this.columnCounts = new int[size][size + 1];
+        this.quadrantCounts = new int[size][size + 1];
+        this.rowMasks = new int[size];
+        this.columnMasks = new int[size];
+        this.quadrantMasks = new int[size];
+        reset();
+    }
+
+    /**
+     * Clears every value entered by the player, going back to the clues.
+     */
+    public void reset() {
+        for (int[][] counts : new int[][][]{rowCounts, columnCounts, quadrantCounts}) {
+            for (int[] unit : counts) {
+                Arrays.fill(unit, 0);
+            }
+        }
+        Arrays.fill(rowMasks, 0);
+        Arrays.fill(columnMasks, 0);
+        Arrays.fill(quadrantMasks, 0);
+        filled = 0;
+        conflicts = 0;
+        int size = boardSize.getSize();
+        for (int cell = 0; cell < values.length; cell++) {
+            values[cell] = initial.get(cell / size, cell % size);
+            if (values[cell] != 0) {
+                add(cell, values[cell]);
+            }
+        }
+    }
+
+    /**
+     * @return the geometry of the board.
+     */
+    public BoardSize getBoardSize() { return boardSize; }
+
+    /**
+     * @return the clues the game started from.
+     */
+    public Board getInitial() { return initial; }
+
+    /**
+     * @param row the row index.
+     * @param col the column index.
+     * @return the value of the cell, or 0 if it is empty.
+     */
+    public int get(int row, int col) { return values[row * boardSize.getSize() + col]; }
+
+    /**
+     * @param row the row index.
+     * @param col the column index.
+     * @return {@code true} if the cell is a clue of the puzzle.
+     */
+    public boolean isGiven(int row, int col) { return initial.get(row, col) != 0; }
+
+    /**
+     * Writes a value into a cell, updating the counters of its row, column and quadrant.
+     *
+     * @param row   the row index.
+     * @param col   the column index.
+     * @param value the new value, or 0 to erase the cell.
+     * @return the previous value of the cell.
+     * @throws IllegalArgumentException if the cell is a clue or the value does not fit the board.
+     */
+    public int set(int row, int col, int value) {
+        if (value < 0 || value > boardSize.getSize()) {
+            throw new IllegalArgumentException("Invalid value " + value + " for a " + boardSize + " board");
+        }
+        if (isGiven(row, col)) {
+            throw new IllegalArgumentException("The cell [" + row + "," + col + "] is a clue");
+        }
+        int cell = row * boardSize.getSize() + col;
+        int old = values[cell];
+        if (old != value) {
+            if (old != 0) remove(cell, old);
+            if (value != 0) add(cell, value);
+            values[cell] = value;
+        }
+        return old;
+    }
+
+    /**
+     * Tells whether the value of a cell also appears elsewhere in its row, column or quadrant.
+     *
+     * @param row the row index.
+     * @param col the column index.
+     * @return {@code true} if the cell holds a repeated value.
+     */
+    public boolean isConflicting(int row, int col) {
+        int value = get(row, col);
+        return value != 0 && (rowCounts[row][value] > 1 || columnCounts[col][value] > 1
+                || quadrantCounts[boardSize.quadrantIndex(row, col)][value] > 1);
+    }
+
+    /**
+     * Returns the candidates of a cell: the values that do not appear yet in its row, its
+     * column or its quadrant. Takes constant time whatever the size of the board.
+     *
+     * @param row the row index.
+     * @param col the column index.
+     * @return the candidate mask (bit {@code v} set if {@code v} is possible), 0 for a filled cell.
+     */
+    public int candidates(int row, int col) {
+        if (get(row, col) != 0) {
+            return 0;
+        }
+        int used = rowMasks[row] | columnMasks[col] | quadrantMasks[boardSize.quadrantIndex(row, col)];
+        return boardSize.getAllValuesMask() & ~used;
+    }
+
+    /**
+     * @return the number of extra copies of values over all rows, columns and quadrants.
+     */
+    public int getConflictCount() { return conflicts; }
+
+    /**
+     * @return the number of filled cells, clues included.
+     */
+    public int getFilledCount() { return filled; }
+
+    /**
+     * Tells whether the board is solved: every cell is filled and no value repeats. Since
+     * generated puzzles have a unique solution, this is the stored solution.
+     *
+     * @return {@code true} if the board is complete and valid.
+     */
+    public boolean isComplete() {
+        return filled == values.length && conflicts == 0;
+    }
+
+    /**
+     * @return an immutable snapshot of the current values.
+     */
+    public Board toBoard() {
+        return Board.of(boardSize, toGrid());
+    }
+
+    /**
+     * @return a new grid with the current values, 0 for empty cells.
+     */
+    public int[][] toGrid() {
+        int size = boardSize.getSize();
+        int[][] grid = new int[size][size];
+        for (int cell = 0; cell < values.length; cell++) {
+            grid[cell / size][cell % size] = values[cell];
+        }
+        return grid;
+    }
+
+    /**
+     * Counts a value in the units of a cell (removing it from their candidates); a unit
+     * that already had it gains a conflict.
+     */
+    private void add(int cell, int value) {
+        int row = cell / boardSize.getSize();
+        int col = cell % boardSize.getSize();
+        int quadrant = boardSize.quadrantIndex(row, col);
+        if (rowCounts[row][value]++ > 0) conflicts++;
+        if (columnCounts[col][value]++ > 0) conflicts++;
+        if (quadrantCounts[quadrant][value]++ > 0) conflicts++;
+        rowMasks[row] |= 1 << value;
+        columnMasks[col] |= 1 << value;
+        quadrantMasks[quadrant] |= 1 << value;
+        filled++;
+    }
+
+    /**
+     * Uncounts a value from the units of a cell; a unit that still has it loses a conflict,
+     * and a unit that no longer has it gets it back as a candidate.
+     */
+    private void remove(int cell, int value) {
+        int row = cell / boardSize.getSize();
+        int col = cell % boardSize.getSize();
+        int quadrant = boardSize.quadrantIndex(row, col);
+        if (--rowCounts[row][value] > 0) conflicts--; else rowMasks[row] &= ~(1 << value);
+        if (--columnCounts[col][value] > 0) conflicts--; else columnMasks[col] &= ~(1 << value);
+        if (--quadrantCounts[quadrant][value] > 0) conflicts--; else quadrantMasks[quadrant] &= ~(1 << value);
+        filled--;
+    }
+
+}
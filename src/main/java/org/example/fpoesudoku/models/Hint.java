@@ -0,0 +1,18 @@
+package org.example.fpoesudoku.models;
+
+/**
+ * A deduction the player can make: the value of one cell, the technique that finds it and
+ * the cells that justify it.
+ *
+ * @param row       the row of the cell.
+ * @param col       the column of the cell.
+ * @param value     the value of the cell.
+ * @param technique the hardest technique needed to find the value.
+ * @param peers     row-major indices of the filled cells whose values rule out the other
+ *                  possibilities (for example, the cells that block every other place of the
+ *                  value in its row, column or quadrant).
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+public record Hint(int row, int col, int value, DifficultyGrader.Technique technique, int[] peers) {
+}
@@ -0,0 +1,246 @@
+package org.example.fpoesudoku.models;
+
+import org.example.fpoesudoku.metrics.Counter;
+import org.example.fpoesudoku.metrics.Metrics;
+import org.example.fpoesudoku.metrics.Timer;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Finds the next deduction a person could make on the board being played, using the
+ * techniques of the {@link DifficultyGrader}: a single when one is available, otherwise the
+ * simplest candidate eliminations that lead to one.
+ * <p>
+ * The candidates, including the eliminations made for earlier hints, are kept between hints.
+ * A value placed by the player only removes that value from the candidates of its peers, so
+ * the next hint continues from where the last one stopped instead of analysing the whole
+ * board again. Only erasing a value (which can undo earlier eliminations) makes the engine
+ * rebuild its state, lazily, on the next hint.
+ * <p>
+ * For a single hint on a board that is not being played, such as a server request,
+ * {@link #hintFor(BoardSize, int[][])} reads the grid in place with the grader of the
+ * calling thread, so nothing is copied or allocated besides the hint itself.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+public class HintEngine {
+
+    private static final Counter HINTS_SERVED = Metrics.getInstance().counter("hints.served");
+    private static final Timer HINT_TIME = Metrics.getInstance().timer("hints.search");
+    private static final Counter[] HINTS_BY_TECHNIQUE = new Counter[DifficultyGrader.Technique.values().length];
+
+    static {
+        // One counter per technique, such as hints.naked_single
+        for (DifficultyGrader.Technique technique : DifficultyGrader.Technique.values()) {
+            HINTS_BY_TECHNIQUE[technique.ordinal()] =
+                    Metrics.getInstance().counter("hints." + technique.name().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    private final BoardSize boardSize;
+    private final int size;
+    private final int[][] board;
+    private final DifficultyGrader logic;
+    private boolean stale = true; // The candidates must be rebuilt before the next hint
+
+    /**
+     * Creates an engine for a game that starts at the given clues.
+     *
+     * @param clues the clues of the puzzle.
+     */
+    public HintEngine(Board clues) {
+        this(clues.getBoardSize(), clues.toGrid(), new DifficultyGrader());
+    }
+
+    /**
+     * Creates an engine that works on the given grid and grader, without copying them.
+     *
+     * @param boardSize the geometry of the board.
+     * @param board     the values of the board, 0 for empty cells.
+     * @param logic     the grader that keeps the candidates.
+     */
+    private HintEngine(BoardSize boardSize, int[][] board, DifficultyGrader logic) {
+        this.boardSize = boardSize;
+        this.size = boardSize.getSize();
+        this.board = board;
+        this.logic = logic;
+    }
+
+    /**
+     * Finds the next deduction on a board, reusing the grader of the calling thread
+     * ({@link DifficultyGrader#forCurrentThread()}) instead of creating one. No state is
+     * kept for later hints.
+     *
+     * @param boardSize the geometry of the board.
+     * @param grid      the values of the board, 0 for empty cells; it is not modified.
+     * @return the hint, or an empty optional if the known techniques cannot progress.
+     */
+    public static Optional<Hint> hintFor(BoardSize boardSize, int[][] grid) {
+        return new HintEngine(boardSize, grid, DifficultyGrader.forCurrentThread()).nextHint();
+    }
+
+    /**
+     * Records a change of the board. Callers should pass 0 for a value known to be wrong,
+     * so that hints are only deduced from correct values.
+     *
+     * @param row   the row index.
+     * @param col   the column index.
+     * @param value the new value, or 0 if the cell was erased.
+     */
+    public void setValue(int row, int col, int value) {
+        int old = board[row][col];
+        if (old == value) {
+            return;
+        }
+        board[row][col] = value;
+        if (stale) {
+            return;
+        }
+        int cell = row * size + col;
+        if (old != 0 || (logic.candidatesAt(cell) & (1 << value)) == 0) {
+            stale = true; // Erased or contradicting values invalidate the cached eliminations
+        } else if (logic.valueAt(cell) == 0) {
+            logic.place(cell, value);
+        }
+    }
+
+    /**
+     * Finds the next deduction. Eliminations made on the way are kept for the next hints.
+     *
+     * @return the hint, or an empty optional if the known techniques cannot progress.
+     */
+    public Optional<Hint> nextHint() {
+        long start = System.nanoTime();
+        Optional<Hint> hint = findHint();
+        HINT_TIME.recordSince(start);
+        if (hint.isPresent()) {
+            HINTS_SERVED.increment();
+            HINTS_BY_TECHNIQUE[hint.get().technique().ordinal()].increment();
+        }
+        return hint;
+    }
+
+    /**
+     * Applies the techniques, simplest first, until a single appears.
+     *
+     * @return the hint, or an empty optional if the known techniques cannot progress.
+     */
+    private Optional<Hint> findHint() {
+        if (stale) {
+            logic.load(boardSize, board);
+            stale = false;
+        }
+        DifficultyGrader.Technique hardest = null;
+        while (true) {
+            Hint hint = findSingle(hardest);
+            if (hint != null) {
+                return Optional.of(hint);
+            }
+            DifficultyGrader.Technique technique = logic.eliminate();
+            if (technique == null) {
+                return Optional.empty();
+            }
+            if (hardest == null || technique.ordinal() > hardest.ordinal()) {
+                hardest = technique;
+            }
+        }
+    }
+
+    /**
+     * Looks for a naked single, then for a hidden single.
+     *
+     * @param eliminations the hardest elimination technique needed so far, or {@code null}.
+     * @return the hint, or {@code null} if there is no single.
+     */
+    private Hint findSingle(DifficultyGrader.Technique eliminations) {
+        for (int cell = 0; cell < size * size; cell++) {
+            int mask = logic.candidatesAt(cell);
+            if (logic.valueAt(cell) == 0 && mask != 0 && (mask & (mask - 1)) == 0) {
+                int value = Integer.numberOfTrailingZeros(mask);
+                return hint(cell, value, DifficultyGrader.Technique.NAKED_SINGLE, eliminations, nakedSinglePeers(cell, value));
+            }
+        }
+        for (int[] unit : boardSize.getUnits()) {
+            int seenOnce = 0;
+            int seenTwice = 0;
+            for (int cell : unit) {
+                seenTwice |= seenOnce & logic.candidatesAt(cell);
+                seenOnce |= logic.candidatesAt(cell);
+            }
+            int hidden = seenOnce & ~seenTwice;
+            if (hidden != 0) {
+                int value = Integer.numberOfTrailingZeros(hidden);
+                for (int cell : unit) {
+                    if ((logic.candidatesAt(cell) & (1 << value)) != 0) {
+                        return hint(cell, value, DifficultyGrader.Technique.HIDDEN_SINGLE, eliminations,
+                                hiddenSinglePeers(unit, cell, value));
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Builds a hint, reporting the elimination technique if it was harder than the single.
+     */
+    private Hint hint(int cell, int value, DifficultyGrader.Technique single, DifficultyGrader.Technique eliminations,
+                      int[] peers) {
+        DifficultyGrader.Technique technique = eliminations != null ? eliminations : single;
+        return new Hint(cell / size, cell % size, value, technique, peers);
+    }
+
+    /**
+     * Returns, for every other value, one filled peer of the cell that holds it.
+     */
+    private int[] nakedSinglePeers(int cell, int value) {
+        int[] peers = new int[size];
+        int count = 0;
+        for (int other = 1; other <= size; other++) {
+            if (other == value) continue;
+            int peer = findPeerWith(cell, other);
+            if (peer >= 0) {
+                peers[count++] = peer;
+            }
+        }
+        return Arrays.copyOf(peers, count);
+    }
+
+    /**
+     * Returns, for every other empty cell of the unit, one filled peer that blocks the value there.
+     */
+    private int[] hiddenSinglePeers(int[] unit, int cell, int value) {
+        int[] peers = new int[unit.length];
+        int count = 0;
+        for (int other : unit) {
+            if (other == cell || logic.valueAt(other) != 0) continue;
+            int peer = findPeerWith(other, value);
+            if (peer >= 0 && Arrays.stream(peers, 0, count).noneMatch(p -> p == peer)) {
+                peers[count++] = peer;
+            }
+        }
+        return Arrays.copyOf(peers, count);
+    }
+
+    /**
+     * Finds a filled cell in the row, column or quadrant of a cell that holds a value.
+     *
+     * @return the row-major index of that cell, or -1 if the value is not placed in any of them.
+     */
+    private int findPeerWith(int cell, int value) {
+        int[][] units = boardSize.getUnits();
+        int row = cell / size;
+        int col = cell % size;
+        for (int[] unit : new int[][]{units[row], units[size + col], units[2 * size + boardSize.quadrantIndex(row, col)]}) {
+            for (int peer : unit) {
+                if (logic.valueAt(peer) == value) {
+                    return peer;
+                }
+            }
+        }
+        return -1;
+    }
+
+}
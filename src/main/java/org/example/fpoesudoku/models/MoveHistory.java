@@ -0,0 +1,118 @@
+package org.example.fpoesudoku.models;
+
+import java.util.Arrays;
+
+/**
+ * Undo/redo history of a game, kept as a log of moves over the initial board instead of
+ * copies of the board. Every move is packed into a single {@code int} (the cell, its old
+ * and new values and whether a hint made it), so a move costs 4 bytes whatever the size of
+ * the board, and any point of the game can be rebuilt by applying the first moves of the
+ * log to the clues (see {@link #get}).
+ * <p>
+ * The log has a cursor: moves before it are applied, moves after it have been undone and
+ * can be redone until a new move is recorded, which drops them.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+public class MoveHistory {
+
+    private static final int VALUE_BITS = 5;   // Values up to 25 (31)
+    private static final int VALUE_MASK = (1 << VALUE_BITS) - 1;
+    private static final int CELL_SHIFT = 2 * VALUE_BITS + 1;
+    private static final int HINT_BIT = 1 << (2 * VALUE_BITS);
+
+    private int[] moves = new int[64];
+    private int position; // Number of applied moves
+    private int size;     // Number of recorded moves, undone ones included
+
+    /**
+     * A change of one cell.
+     *
+     * @param cell     the row-major index of the cell.
+     * @param oldValue the value before the move, 0 for an empty cell.
+     * @param newValue the value after the move, 0 if the cell was erased.
+     * @param hint     {@code true} if a hint revealed the value.
+     */
+    public record Move(int cell, int oldValue, int newValue, boolean hint) { }
+
+    /**
+     * Records a move after the applied ones, dropping the moves that were undone.
+     *
+     * @param cell     the row-major index of the cell.
+     * @param oldValue the value before the move.
+     * @param newValue the value after the move.
+     * @param hint     {@code true} if a hint revealed the value.
+     */
+    public void record(int cell, int oldValue, int newValue, boolean hint) {
+        if (position == moves.length) {
+            moves = Arrays.copyOf(moves, moves.length * 2);
+        }
+        moves[position++] = cell << CELL_SHIFT | (hint ? HINT_BIT : 0) | newValue << VALUE_BITS | oldValue;
+        size = position;
+    }
+
+    /**
+     * @return {@code true} if there is an applied move to undo.
+     */
+    public boolean canUndo() { return position > 0; }
+
+    /**
+     * @return {@code true} if there is an undone move to redo.
+     */
+    public boolean canRedo() { return position < size; }
+
+    /**
+     * Steps back over the last applied move. The caller restores its old value.
+     *
+     * @return the move undone.
+     * @throws IllegalStateException if there is nothing to undo.
+     */
+    public Move undo() {
+        if (!canUndo()) {
+            throw new IllegalStateException("Nothing to undo");
+        }
+        return get(--position);
+    }
+
+    /**
+     * Steps forward over the next undone move. The caller applies its new value.
+     *
+     * @return the move redone.
+     * @throws IllegalStateException if there is nothing to redo.
+     */
+    public Move redo() {
+        if (!canRedo()) {
+            throw new IllegalStateException("Nothing to redo");
+        }
+        return get(position++);
+    }
+
+    /**
+     * @return the number of applied moves; the first ones of the log lead to the current board.
+     */
+    public int position() { return position; }
+
+    /**
+     * Returns a recorded move.
+     *
+     * @param index the index of the move, from 0 (the first of the game).
+     * @return the move.
+     */
+    public Move get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Move " + index + " of " + size);
+        }
+        int move = moves[index];
+        return new Move(move >>> CELL_SHIFT, move & VALUE_MASK, move >>> VALUE_BITS & VALUE_MASK,
+                (move & HINT_BIT) != 0);
+    }
+
+    /**
+     * Forgets every move, for a new game or a reset.
+     */
+    public void clear() {
+        position = 0;
+        size = 0;
+    }
+
+}
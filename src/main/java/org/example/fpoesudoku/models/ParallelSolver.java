@@ -0,0 +1,221 @@
+package org.example.fpoesudoku.models;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Solver that splits the search tree across the cores of the machine.
+ * The first {@code splitDepth} levels of the tree are expanded into fork/join tasks (one per
+ * legal value of the most constrained cell), and each subtree below that depth is searched
+ * by a sequential solver. Idle workers steal pending subtrees from busy ones, and the
+ * solution counts of all subtrees are merged at the end.
+ * <p>
+ * Searches stop early when the solution limit is reached, when a solution is found in
+ * {@link #solve} mode, or when the caller's {@link SearchMonitor} asks to cancel.
+ * In {@link #solve} mode the order of the subtrees and of the values tried inside them is
+ * derived from the caller's random source, but which subtree finds a solution first depends
+ * on the timing of the workers, so the board found is not reproducible from a seed.
+ * Call {@link #close()} to release the worker threads.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+public class ParallelSolver implements SudokuSolver, AutoCloseable {
+
+    private static final int DEFAULT_SPLIT_DEPTH = 3;
+
+    private final ForkJoinPool pool;
+    private final SudokuSolver sequential;
+    private final int splitDepth;
+
+    /**
+     * Creates a parallel solver that uses every available core.
+     */
+    public ParallelSolver() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a parallel solver with the given number of worker threads.
+     *
+     * @param parallelism the number of worker threads.
+     */
+    public ParallelSolver(int parallelism) {
+        this(parallelism, new DancingLinksSolver(), DEFAULT_SPLIT_DEPTH);
+    }
+
+    /**
+     * Creates a parallel solver.
+     *
+     * @param parallelism the number of worker threads.
+     * @param sequential  the solver used for the subtrees below the split depth.
+     * @param splitDepth  the number of tree levels expanded into parallel tasks.
+     */
+    public ParallelSolver(int parallelism, SudokuSolver sequential, int splitDepth) {
+        this.pool = new ForkJoinPool(parallelism);
+        this.sequential = sequential;
+        this.splitDepth = splitDepth;
+    }
+
+    /**
+     * @return the number of worker threads.
+     */
+    public int getParallelism() { return pool.getParallelism(); }
+
+    @Override
+    public boolean solve(BoardSize boardSize, int[][] grid, Random random, SearchMonitor monitor) {
+        AtomicReference<int[][]> solution = new AtomicReference<>();
+        SearchMonitor stop = monitor.orWhen(() -> solution.get() != null);
+
+        // Each task gets its own random source seeded by its parent, the caller's one is not thread-safe
+        Random rootRandom = random != null ? new Random(random.nextLong()) : null;
+        pool.invoke(new SplitTask(boardSize, BacktrackingSolver.copyOf(grid), 0, rootRandom, stop, (subgrid, subtreeRandom) -> {
+            if (sequential.solve(boardSize, subgrid, subtreeRandom, stop)) {
+                solution.compareAndSet(null, subgrid);
+            }
+        }));
+
+        int[][] result = solution.get();
+        if (result == null) {
+            return false;
+        }
+        for (int row = 0; row < grid.length; row++) {
+            System.arraycopy(result[row], 0, grid[row], 0, grid[row].length);
+        }
+        return true;
+    }
+
+    @Override
+    public long enumerateSolutions(BoardSize boardSize, int[][] grid, long limit, Consumer<int[][]> consumer,
+                                   SearchMonitor monitor) {
+        if (limit <= 0) {
+            return 0;
+        }
+        AtomicLong found = new AtomicLong();
+        SearchMonitor stop = monitor.orWhen(() -> found.get() >= limit);
+
+        // Solutions from different workers are handed to the consumer one at a time, never beyond the limit
+        AtomicLong delivered = new AtomicLong();
+        Consumer<int[][]> deliver = consumer == null ? null : solution -> {
+            if (delivered.incrementAndGet() <= limit) {
+                synchronized (consumer) {
+                    consumer.accept(solution);
+                }
+            }
+        };
+
+        pool.invoke(new SplitTask(boardSize, BacktrackingSolver.copyOf(grid), 0, null, stop, (subgrid, unused) -> {
+            long remaining = limit - found.get();
+            if (remaining > 0) {
+                found.addAndGet(sequential.enumerateSolutions(boardSize, subgrid, remaining, deliver, stop));
+            }
+        }));
+        return Math.min(found.get(), limit);
+    }
+
+    /**
+     * Shuts down the worker threads. Searches in progress are allowed to finish.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * Fork/join task that expands one level of the search tree, or hands its subtree to the
+     * sequential solver once the split depth is reached.
+     */
+    private class SplitTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final BoardSize boardSize;
+        private final int[][] grid;
+        private final int depth;
+        private final Random random; // Shuffles the subtasks, null to keep them in order
+        private final SearchMonitor stop;
+        private final BiConsumer<int[][], Random> leaf;
+
+        SplitTask(BoardSize boardSize, int[][] grid, int depth, Random random, SearchMonitor stop,
+                  BiConsumer<int[][], Random> leaf) {
+            this.boardSize = boardSize;
+            this.grid = grid;
+            this.depth = depth;
+            this.random = random;
+            this.stop = stop;
+            this.leaf = leaf;
+        }
+
+        @Override
+        protected void compute() {
+            if (stop.isCancelled()) {
+                return;
+            }
+
+            int size = boardSize.getSize();
+            SudokuConstraints constraints = new SudokuConstraints(boardSize);
+            if (!constraints.load(grid)) {
+                return; // The clues already repeat a value, no solution in this subtree
+            }
+
+            // Find the empty cell with the fewest legal values
+            int bestRow = -1;
+            int bestCol = -1;
+            int bestCandidates = 0;
+            int bestCount = Integer.MAX_VALUE;
+            for (int row = 0; row < size && bestCount > 1; row++) {
+                for (int col = 0; col < size; col++) {
+                    if (grid[row][col] != 0) continue;
+                    int candidates = constraints.candidates(row, col);
+                    int count = Integer.bitCount(candidates);
+                    if (count < bestCount) {
+                        bestRow = row;
+                        bestCol = col;
+                        bestCandidates = candidates;
+                        bestCount = count;
+                        if (count <= 1) break;
+                    }
+                }
+            }
+
+            if (bestCount == 0) {
+                return; // An empty cell has no legal value, no solution in this subtree
+            }
+            if (bestCount == 1 && depth < splitDepth) {
+                // A forced cell is not a branching point, fill it and keep splitting at this depth
+                grid[bestRow][bestCol] = Integer.numberOfTrailingZeros(bestCandidates);
+                compute();
+                return;
+            }
+            if (depth >= splitDepth || bestRow < 0) {
+                leaf.accept(grid, random); // Deep enough (or already complete): search this subtree sequentially
+                return;
+            }
+
+            List<SplitTask> subtasks = new ArrayList<>(bestCount);
+            while (bestCandidates != 0) {
+                int value = Integer.numberOfTrailingZeros(bestCandidates);
+                bestCandidates &= bestCandidates - 1;
+                int[][] child = BacktrackingSolver.copyOf(grid);
+                child[bestRow][bestCol] = value;
+                Random childRandom = random != null ? new Random(random.nextLong()) : null;
+                subtasks.add(new SplitTask(boardSize, child, depth + 1, childRandom, stop, leaf));
+            }
+            if (random != null) {
+                for (int i = subtasks.size() - 1; i > 0; i--) {
+                    int j = random.nextInt(i + 1);
+                    subtasks.set(j, subtasks.set(i, subtasks.get(j)));
+                }
+            }
+            invokeAll(subtasks);
+        }
+
+    }
+
+}
@@ -0,0 +1,77 @@
+package org.example.fpoesudoku.models;
+
+import java.util.OptionalLong;
+
+/**
+ * A generated puzzle together with its unique solution.
+ * The grids are shared, not copied: callers that want to edit a board must copy it first.
+ * <p>
+ * A puzzle generated from a seed remembers it: the board size, the requested difficulty
+ * and the seed are enough to generate the same puzzle again (see {@link PuzzleCache}).
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+public class Puzzle {
+
+    private final BoardSize boardSize;
+    private final Difficulty difficulty;
+    private final int[][] clues;
+    private final int[][] solution;
+    private final OptionalLong seed;
+
+    /**
+     * Creates a puzzle that was not generated from a seed.
+     *
+     * @param boardSize  the geometry of the board.
+     * @param difficulty the level the puzzle was generated for.
+     * @param clues      the starting board (0 for empty cells).
+     * @param solution   the complete board.
+     */
+    public Puzzle(BoardSize boardSize, Difficulty difficulty, int[][] clues, int[][] solution) {
+        this(boardSize, difficulty, clues, solution, OptionalLong.empty());
+    }
+
+    /**
+     * Creates a puzzle.
+     *
+     * @param boardSize  the geometry of the board.
+     * @param difficulty the level the puzzle was generated for.
+     * @param clues      the starting board (0 for empty cells).
+     * @param solution   the complete board.
+     * @param seed       the seed the puzzle was generated from, if any.
+     */
+    public Puzzle(BoardSize boardSize, Difficulty difficulty, int[][] clues, int[][] solution, OptionalLong seed) {
+        this.boardSize = boardSize;
+        this.difficulty = difficulty;
+        this.clues = clues;
+        this.solution = solution;
+        this.seed = seed;
+    }
+
+    /**
+     * @return the geometry of the board.
+     */
+    public BoardSize getBoardSize() { return boardSize; }
+
+    /**
+     * @return the level the puzzle was generated for.
+     */
+    public Difficulty getDifficulty() { return difficulty; }
+
+    /**
+     * @return the starting board, with 0 for the cells the player must fill.
+     */
+    public int[][] getClues() { return clues; }
+
+    /**
+     * @return the complete board.
+     */
+    public int[][] getSolution() { return solution; }
+
+    /**
+     * @return the seed the puzzle was generated from, empty for puzzles from a corpus or
+     *         generated from an unseeded random source.
+     */
+    public OptionalLong getSeed() { return seed; }
+
+}
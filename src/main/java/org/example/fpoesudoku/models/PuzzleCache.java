@@ -0,0 +1,121 @@
+package org.example.fpoesudoku.models;
+
+import org.example.fpoesudoku.metrics.Counter;
+import org.example.fpoesudoku.metrics.Metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Bounded cache of seeded puzzles, keyed by board size, difficulty and seed. Since these
+ * three values fully identify a generated puzzle (see
+ * {@link SudokuGenerator#generate(BoardSize, Difficulty, long, SearchMonitor)}), a puzzle
+ * can be stored or shared as its seed, and asking again for a recent one costs a lookup.
+ * When the cache is full, the least recently used puzzle is dropped.
+ * <p>
+ * Generation runs outside the lock, so a slow puzzle never holds up lookups of others. Two
+ * threads missing the same key at once both generate it; they get equal puzzles and the
+ * last one is kept. Cancelled generations are not cached.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+public class PuzzleCache {
+
+    private static final int DEFAULT_CAPACITY = 256;
+    private static final Counter HITS = Metrics.getInstance().counter("puzzles.cache.hits");
+    private static final Counter MISSES = Metrics.getInstance().counter("puzzles.cache.misses");
+
+    private final SudokuGenerator generator;
+    private final Map<Key, Puzzle> puzzles;
+
+    /**
+     * Creates a cache.
+     *
+     * @param capacity  the maximum number of puzzles kept.
+     * @param generator the generator used on a miss.
+     */
+    public PuzzleCache(int capacity, SudokuGenerator generator) {
+        this.generator = generator;
+        // Access order turns the map into an LRU list: the eldest entry is the least recently used
+        this.puzzles = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Puzzle> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the puzzle of a board size, difficulty and seed, generating it on a miss.
+     *
+     * @param boardSize  the geometry of the board.
+     * @param difficulty the requested level.
+     * @param seed       the seed of the puzzle.
+     * @return the puzzle.
+     */
+    public Puzzle get(BoardSize boardSize, Difficulty difficulty, long seed) {
+        return get(boardSize, difficulty, seed, SearchMonitor.NONE);
+    }
+
+    /**
+     * Returns the puzzle of a board size, difficulty and seed, generating it on a miss
+     * under a monitor.
+     *
+     * @param boardSize  the geometry of the board.
+     * @param difficulty the requested level.
+     * @param seed       the seed of the puzzle.
+     * @param monitor    follows and may cancel the generation.
+     * @return the puzzle.
+     * @throws CancellationException if the monitor cancelled the generation.
+     */
+    public Puzzle get(BoardSize boardSize, Difficulty difficulty, long seed, SearchMonitor monitor) {
+        Key key = new Key(boardSize, difficulty, seed);
+        Puzzle puzzle;
+        synchronized (puzzles) {
+            puzzle = puzzles.get(key); // Also marks the entry as the most recently used
+        }
+        if (puzzle != null) {
+            HITS.increment();
+            return puzzle;
+        }
+
+        MISSES.increment();
+        puzzle = generator.generate(boardSize, difficulty, seed, monitor);
+        synchronized (puzzles) {
+            puzzles.put(key, puzzle);
+        }
+        return puzzle;
+    }
+
+    /**
+     * @return the number of puzzles in the cache.
+     */
+    public int size() {
+        synchronized (puzzles) {
+            return puzzles.size();
+        }
+    }
+
+    /**
+     * Returns the cache shared by the whole application.
+     *
+     * @return the unique PuzzleCache instance.
+     */
+    public static PuzzleCache getInstance() {
+        return PuzzleCacheHolder.INSTANCE;
+    }
+
+    /**
+     * Holder class for the lazily created shared cache.
+     */
+    private static class PuzzleCacheHolder {
+        private static final PuzzleCache INSTANCE = new PuzzleCache(DEFAULT_CAPACITY, new SudokuGenerator());
+    }
+
+    /**
+     * Cache key: the three values that identify a seeded puzzle.
+     */
+    private record Key(BoardSize boardSize, Difficulty difficulty, long seed) { }
+
+}
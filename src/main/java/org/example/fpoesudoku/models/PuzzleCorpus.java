@@ -0,0 +1,373 @@
+package org.example.fpoesudoku.models;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-only collection of puzzles of one board size, stored in a compact binary file and
+ * accessed through memory mapping.
+ * <p>
+ * The file starts with a header (magic number, version, board side, bits per cell, record
+ * length and the number of puzzles of each {@link Difficulty}), followed by fixed-size
+ * records grouped by difficulty. A record packs every cell of the solution in
+ * {@code bitsPerCell} bits, lowest bits first: the value minus one, plus a top bit set when
+ * the cell is a clue. A 9x9 record takes 5 bits per cell, 51 bytes in total.
+ * <p>
+ * Since records have a fixed size, puzzle {@code n} is found by arithmetic on the offset and
+ * decoded straight from the mapped pages: opening a corpus and drawing a puzzle take the
+ * same time whatever the number of puzzles it holds. New corpora are written with
+ * {@link #create}.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+public class PuzzleCorpus {
+
+    /**
+     * System property naming the directory where the game looks for corpus files,
+     * one per board size (see {@link #fileName}).
+     */
+    public static final String DIRECTORY_PROPERTY = "sudoku.corpus.dir";
+
+    private static final int MAGIC = 0x53444B43; // "SDKC"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 24 + 8 * Difficulty.values().length;
+    private static final long MAX_SEGMENT_BYTES = 1L << 30; // A single mapping cannot exceed 2 GB
+
+    private static final Map<BoardSize, Optional<PuzzleCorpus>> DEFAULT_CORPORA = new ConcurrentHashMap<>();
+
+    private final BoardSize boardSize;
+    private final int bitsPerCell;
+    private final int recordBytes;
+    private final long[] counts = new long[Difficulty.values().length];
+    private final long[] firstRecord = new long[Difficulty.values().length];
+    private final long recordsPerSegment;
+    private final MappedByteBuffer[] segments;
+
+    /**
+     * Opens a corpus file and maps its records into memory.
+     *
+     * @param file the corpus file.
+     * @return the corpus.
+     * @throws IOException if the file cannot be read or is not a corpus.
+     */
+    public static PuzzleCorpus open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new PuzzleCorpus(channel);
+        }
+    }
+
+    /**
+     * Returns the corpus of a board size from the directory named by the
+     * {@value #DIRECTORY_PROPERTY} system property. Each corpus is opened once and shared.
+     *
+     * @param boardSize the geometry of the board.
+     * @return the corpus, or an empty optional if none is configured or the file cannot be opened.
+     */
+    public static Optional<PuzzleCorpus> forBoardSize(BoardSize boardSize) {
+        return DEFAULT_CORPORA.computeIfAbsent(boardSize, size -> {
+            String directory = System.getProperty(DIRECTORY_PROPERTY);
+            Path file = directory == null ? null : Path.of(directory, fileName(size));
+            if (file == null || !Files.isRegularFile(file)) {
+                return Optional.empty();
+            }
+            try {
+                return Optional.of(open(file));
+            } catch (IOException e) {
+                System.err.println("Could not open the puzzle corpus " + file + ": " + e.getMessage());
+                return Optional.empty();
+            }
+        });
+    }
+
+    /**
+     * Returns the conventional file name of the corpus of a board size, for example
+     * {@code 9x9.sdkc}.
+     *
+     * @param boardSize the geometry of the board.
+     * @return the file name.
+     */
+    public static String fileName(BoardSize boardSize) {
+        return boardSize + ".sdkc";
+    }
+
+    /**
+     * Starts writing a new corpus file.
+     *
+     * @param file      the file to create or replace.
+     * @param boardSize the geometry of every puzzle of the corpus.
+     * @return a writer; the file is complete once the writer is closed.
+     * @throws IOException if the temporary files cannot be created.
+     */
+    public static Writer create(Path file, BoardSize boardSize) throws IOException {
+        return new Writer(file, boardSize);
+    }
+
+    /**
+     * Reads the header and maps the records.
+     */
+    private PuzzleCorpus(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while (header.hasRemaining() && channel.read(header) >= 0) {
+            // Keep reading until the whole header is in
+        }
+        header.flip();
+        if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC) {
+            throw new IOException("Not a puzzle corpus");
+        }
+        int version = header.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported corpus version " + version);
+        }
+        try {
+            boardSize = BoardSize.fromSize(header.getInt());
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage());
+        }
+        bitsPerCell = header.getInt();
+        recordBytes = header.getInt();
+        if (bitsPerCell != bitsPerCell(boardSize) || recordBytes != recordBytes(boardSize)) {
+            throw new IOException("Corrupt corpus header");
+        }
+        header.getInt(); // Number of difficulty levels, fixed for this version
+
+        long total = 0;
+        for (int level = 0; level < counts.length; level++) {
+            firstRecord[level] = total;
+            counts[level] = header.getLong();
+            total += counts[level];
+        }
+        if (HEADER_BYTES + total * recordBytes > channel.size()) {
+            throw new IOException("Truncated corpus");
+        }
+
+        // Map whole records only, so that no record is split between two segments
+        recordsPerSegment = MAX_SEGMENT_BYTES / recordBytes;
+        segments = new MappedByteBuffer[(int) ((total + recordsPerSegment - 1) / recordsPerSegment)];
+        for (int i = 0; i < segments.length; i++) {
+            long first = i * recordsPerSegment;
+            long records = Math.min(recordsPerSegment, total - first);
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES + first * recordBytes,
+                    records * recordBytes);
+        }
+    }
+
+    /**
+     * @return the geometry of the puzzles of this corpus.
+     */
+    public BoardSize getBoardSize() { return boardSize; }
+
+    /**
+     * @param difficulty the difficulty level.
+     * @return the number of puzzles of that level.
+     */
+    public long count(Difficulty difficulty) { return counts[difficulty.ordinal()]; }
+
+    /**
+     * @return the number of puzzles of all levels.
+     */
+    public long size() {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Decodes a puzzle.
+     *
+     * @param difficulty the difficulty level.
+     * @param index      the position of the puzzle among those of that level.
+     * @return the puzzle and its solution.
+     * @throws IndexOutOfBoundsException if there is no puzzle at that position.
+     */
+    public Puzzle get(Difficulty difficulty, long index) {
+        if (index < 0 || index >= counts[difficulty.ordinal()]) {
+            throw new IndexOutOfBoundsException("No " + difficulty + " puzzle #" + index);
+        }
+        long record = firstRecord[difficulty.ordinal()] + index;
+        ByteBuffer segment = segments[(int) (record / recordsPerSegment)];
+        int offset = (int) (record % recordsPerSegment) * recordBytes;
+
+        int size = boardSize.getSize();
+        int valueMask = (1 << (bitsPerCell - 1)) - 1;
+        int[][] clues = new int[size][size];
+        int[][] solution = new int[size][size];
+        for (int cell = 0; cell < boardSize.getCellCount(); cell++) {
+            int code = readBits(segment, offset, cell * bitsPerCell);
+            int value = (code & valueMask) + 1;
+            solution[cell / size][cell % size] = value;
+            if ((code >>> (bitsPerCell - 1)) != 0) {
+                clues[cell / size][cell % size] = value;
+            }
+        }
+        return new Puzzle(boardSize, difficulty, clues, solution);
+    }
+
+    /**
+     * Draws a random puzzle of the given level.
+     *
+     * @param difficulty the difficulty level.
+     * @param random     source for the choice.
+     * @return the puzzle, or an empty optional if the corpus has none of that level.
+     */
+    public Optional<Puzzle> random(Difficulty difficulty, Random random) {
+        long count = counts[difficulty.ordinal()];
+        return count == 0 ? Optional.empty() : Optional.of(get(difficulty, Math.floorMod(random.nextLong(), count)));
+    }
+
+    /**
+     * Reads the code of one cell. A code spans at most two bytes, as it is never wider than 6 bits.
+     */
+    private int readBits(ByteBuffer segment, int offset, int bit) {
+        int position = offset + (bit >>> 3);
+        int shift = bit & 7;
+        int bits = segment.get(position) & 0xFF;
+        if (shift + bitsPerCell > 8) {
+            bits |= (segment.get(position + 1) & 0xFF) << 8;
+        }
+        return (bits >>> shift) & ((1 << bitsPerCell) - 1);
+    }
+
+    /**
+     * Returns the number of bits of a cell code: enough for the values minus one, plus the clue bit.
+     */
+    private static int bitsPerCell(BoardSize boardSize) {
+        return 33 - Integer.numberOfLeadingZeros(boardSize.getSize() - 1);
+    }
+
+    /**
+     * Returns the number of bytes of a record.
+     */
+    private static int recordBytes(BoardSize boardSize) {
+        return (boardSize.getCellCount() * bitsPerCell(boardSize) + 7) / 8;
+    }
+
+    /**
+     * Writes a corpus file. Records are appended to one temporary file per difficulty level,
+     * so any number of puzzles can be written in constant memory, and the final file is
+     * assembled when the writer is closed.
+     */
+    public static class Writer implements Closeable {
+
+        private final Path file;
+        private final BoardSize boardSize;
+        private final int bitsPerCell;
+        private final Path[] parts = new Path[Difficulty.values().length];
+        private final FileChannel[] channels = new FileChannel[Difficulty.values().length];
+        private final long[] counts = new long[Difficulty.values().length];
+        private final ByteBuffer record;
+
+        private Writer(Path file, BoardSize boardSize) throws IOException {
+            this.file = file.toAbsolutePath();
+            this.boardSize = boardSize;
+            this.bitsPerCell = PuzzleCorpus.bitsPerCell(boardSize);
+            this.record = ByteBuffer.allocate(PuzzleCorpus.recordBytes(boardSize));
+            for (int level = 0; level < parts.length; level++) {
+                parts[level] = Files.createTempFile(this.file.getParent(), file.getFileName().toString(), ".part");
+                channels[level] = FileChannel.open(parts[level], StandardOpenOption.READ, StandardOpenOption.WRITE);
+            }
+        }
+
+        /**
+         * Appends a puzzle.
+         *
+         * @param puzzle the puzzle; its board size must match the corpus.
+         * @throws IOException if the record cannot be written.
+         * @throws IllegalArgumentException if the board size does not match, the solution has
+         *                                  an empty or out of range cell, or a clue differs
+         *                                  from the solution.
+         */
+        public void add(Puzzle puzzle) throws IOException {
+            if (puzzle.getBoardSize() != boardSize) {
+                throw new IllegalArgumentException("Expected a " + boardSize + " puzzle, got " + puzzle.getBoardSize());
+            }
+            int size = boardSize.getSize();
+            int[][] clues = puzzle.getClues();
+            int[][] solution = puzzle.getSolution();
+
+            byte[] bytes = record.array();
+            Arrays.fill(bytes, (byte) 0);
+            for (int cell = 0; cell < boardSize.getCellCount(); cell++) {
+                int row = cell / size;
+                int col = cell % size;
+                if (solution[row][col] < 1 || solution[row][col] > size
+                        || (clues[row][col] != 0 && clues[row][col] != solution[row][col])) {
+                    throw new IllegalArgumentException("Invalid solution or clue at [" + row + "," + col + "]");
+                }
+                int code = solution[row][col] - 1;
+                if (clues[row][col] != 0) {
+                    code |= 1 << (bitsPerCell - 1);
+                }
+                int bit = cell * bitsPerCell;
+                int shifted = code << (bit & 7);
+                bytes[bit >>> 3] |= (byte) shifted;
+                if ((bit & 7) + bitsPerCell > 8) {
+                    bytes[(bit >>> 3) + 1] |= (byte) (shifted >>> 8);
+                }
+            }
+
+            int level = puzzle.getDifficulty().ordinal();
+            record.clear();
+            while (record.hasRemaining()) {
+                channels[level].write(record);
+            }
+            counts[level]++;
+        }
+
+        /**
+         * Writes the header, concatenates the records of every level into the corpus file and
+         * deletes the temporary files.
+         *
+         * @throws IOException if the corpus file cannot be written.
+         */
+        @Override
+        public void close() throws IOException {
+            Path assembled = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            try (FileChannel out = FileChannel.open(assembled, StandardOpenOption.WRITE)) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                header.putInt(MAGIC).putInt(VERSION).putInt(boardSize.getSize()).putInt(bitsPerCell)
+                        .putInt(record.capacity()).putInt(counts.length);
+                for (long count : counts) {
+                    header.putLong(count);
+                }
+                header.flip();
+                while (header.hasRemaining()) {
+                    out.write(header);
+                }
+                for (FileChannel channel : channels) {
+                    long position = 0;
+                    long length = channel.size();
+                    while (position < length) {
+                        position += channel.transferTo(position, length - position, out);
+                    }
+                }
+            } finally {
+                for (int level = 0; level < parts.length; level++) {
+                    channels[level].close();
+                    Files.deleteIfExists(parts[level]);
+                }
+            }
+            try {
+                Files.move(assembled, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                Files.deleteIfExists(assembled);
+                throw e;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,69 @@
+package org.example.fpoesudoku.models;
+
+/**
+ * One-line text format for boards, used to read and write puzzles in bulk.
+ * A board is written as one character per cell in row-major order: {@code 0} or {@code .}
+ * for an empty cell and a base-36 digit for a value ({@code 1}-{@code 9}, then {@code a}
+ * for 10 up to {@code p} for 25). The board size follows from the length of the line, so
+ * a 9x9 board is the usual 81-character line.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+public final class PuzzleFormat {
+
+    private PuzzleFormat() {
+    }
+
+    /**
+     * Finds the board size that matches the length of a line.
+     *
+     * @param length the number of cell characters.
+     * @return the board size.
+     * @throws IllegalArgumentException if no supported board has that many cells.
+     */
+    public static BoardSize sizeOf(int length) {
+        int side = (int) Math.round(Math.sqrt(length));
+        if (side * side != length) {
+            throw new IllegalArgumentException("A board line cannot have " + length + " cells");
+        }
+        return BoardSize.fromSize(side);
+    }
+
+    /**
+     * Parses a board line.
+     *
+     * @param line the cell characters, without separators.
+     * @return the grid, with 0 for empty cells.
+     * @throws IllegalArgumentException if the length or a character is not valid for the board.
+     */
+    public static int[][] parse(CharSequence line) {
+        int size = sizeOf(line.length()).getSize();
+        int[][] grid = new int[size][size];
+        for (int i = 0; i < line.length(); i++) {
+            char symbol = line.charAt(i);
+            int value = symbol == '.' ? 0 : Character.digit(symbol, 36);
+            if (value < 0 || value > size) {
+                throw new IllegalArgumentException("Invalid cell '" + symbol + "' at position " + i);
+            }
+            grid[i / size][i % size] = value;
+        }
+        return grid;
+    }
+
+    /**
+     * Writes a grid as a board line, using {@code 0} for empty cells.
+     *
+     * @param grid the grid to write.
+     * @return the board line.
+     */
+    public static String format(int[][] grid) {
+        StringBuilder line = new StringBuilder(grid.length * grid.length);
+        for (int[] row : grid) {
+            for (int value : row) {
+                line.append(Character.forDigit(value, 36));
+            }
+        }
+        return line.toString();
+    }
+
+}
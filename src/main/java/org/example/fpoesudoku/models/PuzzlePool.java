@@ -0,0 +1,163 @@
+package org.example.fpoesudoku.models;
+
+import org.example.fpoesudoku.metrics.Counter;
+import org.example.fpoesudoku.metrics.Metrics;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bounded stock of ready-to-play puzzles, one queue per board size and difficulty.
+ * Queues are refilled by background daemon threads whenever a puzzle is taken, so starting
+ * a game only has to pull a finished puzzle from memory. {@link #take} never blocks: when the
+ * queue is empty it reports a miss and the caller decides how to get a puzzle.
+ * Every puzzle is generated from a fresh seed, which it keeps. Hits and misses are counted
+ * in the {@code puzzles.pool.hits} and {@code puzzles.pool.misses} metrics.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+public class PuzzlePool implements AutoCloseable {
+
+    private static final int DEFAULT_CAPACITY = 4;
+    private static final Counter HITS = Metrics.getInstance().counter("puzzles.pool.hits");
+    private static final Counter MISSES = Metrics.getInstance().counter("puzzles.pool.misses");
+
+    private final int capacity;
+    private final SudokuGenerator generator;
+    private final ExecutorService refillExecutor;
+    private final Map<Key, BlockingQueue<Puzzle>> queues = new ConcurrentHashMap<>();
+    private final Map<Key, AtomicBoolean> refilling = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    /**
+     * Creates a pool.
+     *
+     * @param capacity  the maximum number of puzzles kept for each size and difficulty.
+     * @param threads   the number of background generation threads.
+     * @param generator the generator used to produce the puzzles.
+     */
+    public PuzzlePool(int capacity, int threads, SudokuGenerator generator) {
+        this.capacity = capacity;
+        this.generator = generator;
+        this.refillExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "puzzle-pool-refill");
+            thread.setDaemon(true); // Never keep the application alive
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    /**
+     * Takes a ready puzzle without waiting, and schedules a refill of its queue.
+     *
+     * @param boardSize  the geometry of the board.
+     * @param difficulty the difficulty level.
+     * @return the puzzle, or an empty optional if none is ready (a miss).
+     */
+    public Optional<Puzzle> take(BoardSize boardSize, Difficulty difficulty) {
+        Key key = new Key(boardSize, difficulty);
+        Puzzle puzzle = queue(key).poll();
+        if (puzzle != null) {
+            HITS.increment();
+        } else {
+            MISSES.increment();
+        }
+        refill(key);
+        return Optional.ofNullable(puzzle);
+    }
+
+    /**
+     * Starts filling the queue of a size and difficulty in the background, for example when
+     * the player selects them, so that the next {@link #take} is a hit.
+     *
+     * @param boardSize  the geometry of the board.
+     * @param difficulty the difficulty level.
+     */
+    public void prefill(BoardSize boardSize, Difficulty difficulty) {
+        refill(new Key(boardSize, difficulty));
+    }
+
+    /**
+     * @param boardSize  the geometry of the board.
+     * @param difficulty the difficulty level.
+     * @return the number of puzzles ready for that size and difficulty.
+     */
+    public int available(BoardSize boardSize, Difficulty difficulty) {
+        return queue(new Key(boardSize, difficulty)).size();
+    }
+
+    /**
+     * Stops the background generation. Puzzles already in the pool can still be taken.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        refillExecutor.shutdownNow();
+    }
+
+    /**
+     * Returns the queue of a key, creating it on first use.
+     */
+    private BlockingQueue<Puzzle> queue(Key key) {
+        return queues.computeIfAbsent(key, k -> new ArrayBlockingQueue<>(capacity));
+    }
+
+    /**
+     * Schedules a background task that generates puzzles until the queue is full,
+     * unless one is already running for that key.
+     */
+    private void refill(Key key) {
+        AtomicBoolean running = refilling.computeIfAbsent(key, k -> new AtomicBoolean());
+        if (closed || !running.compareAndSet(false, true)) {
+            return;
+        }
+        BlockingQueue<Puzzle> queue = queue(key);
+        try {
+            refillExecutor.execute(() -> {
+                try {
+                    while (!closed && queue.remainingCapacity() > 0) {
+                        queue.offer(generator.generate(key.boardSize, key.difficulty, SudokuGenerator.newSeed(),
+                                SearchMonitor.NONE));
+                    }
+                } finally {
+                    running.set(false);
+                }
+                if (!closed && queue.remainingCapacity() > 0) {
+                    refill(key); // A puzzle was taken while this task was finishing
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            running.set(false); // The pool was closed in the meantime
+        }
+    }
+
+    /**
+     * Returns the pool shared by the whole application.
+     *
+     * @return the unique PuzzlePool instance.
+     */
+    public static PuzzlePool getInstance() {
+        return PuzzlePoolHolder.INSTANCE;
+    }
+
+    /**
+     * Holder class for the lazily created shared pool.
+     */
+    private static class PuzzlePoolHolder {
+        private static final PuzzlePool INSTANCE = new PuzzlePool(DEFAULT_CAPACITY,
+                Math.max(1, Runtime.getRuntime().availableProcessors() / 2), new SudokuGenerator());
+    }
+
+    /**
+     * Queue key: a board size and a difficulty.
+     */
+    private record Key(BoardSize boardSize, Difficulty difficulty) { }
+
+}
@@ -0,0 +1,39 @@
+package org.example.fpoesudoku.models;
+
+/**
+ * Snapshot of a game in progress, as kept by {@link SavedGameStore}: the puzzle (its
+ * solution and clues), the values entered so far, the cells revealed by hints and the
+ * playing time. Boards are immutable, so a snapshot taken on the JavaFX thread can be
+ * written by another thread; the hint array must not be modified once passed in.
+ *
+ * @param difficulty    the difficulty of the puzzle.
+ * @param solution      the solution of the puzzle.
+ * @param clues         the clues of the puzzle.
+ * @param entries       the current values, clues included.
+ * @param hinted        the cells revealed by hints, by row-major index.
+ * @param elapsedMillis the playing time, in milliseconds.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+public record SavedGame(Difficulty difficulty, Board solution, Board clues, Board entries,
+                        boolean[] hinted, long elapsedMillis) {
+
+    /**
+     * @return the geometry of the board.
+     */
+    public BoardSize boardSize() { return solution.getBoardSize(); }
+
+    /**
+     * @return the number of hints used.
+     */
+    public int hintsUsed() {
+        int used = 0;
+        for (boolean hint : hinted) {
+            if (hint) {
+                used++;
+            }
+        }
+        return used;
+    }
+
+}
@@ -0,0 +1,288 @@
+package org.example.fpoesudoku.models;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.CRC32;
+
+/**
+ * Keeps the game in progress in a small binary file, so it can be resumed after the window
+ * is closed or the application crashes.
+ * <p>
+ * The file holds a header (magic number, version, board side, difficulty and playing time)
+ * followed by one 16-bit code per cell, lowest bits first: the value of the solution
+ * (5 bits), the current value (5 bits), a clue bit and a hint bit. A CRC-32 of everything
+ * before it closes the file. A 9x9 game takes 190 bytes.
+ * <p>
+ * Every write goes to a temporary file in the same directory, is forced to disk and then
+ * atomically renamed over the previous save, so a crash leaves either the old or the new
+ * game, never half of one. {@link #autosave} is meant to be called on every move: it only
+ * records the latest snapshot, and a background thread writes whatever is latest after a
+ * short delay, so fast typing costs a single write.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+public class SavedGameStore implements AutoCloseable {
+
+    /**
+     * System property naming the directory of the saved game (by default
+     * {@code .fpoe-sudoku} in the home directory of the user).
+     */
+    public static final String DIRECTORY_PROPERTY = "sudoku.save.dir";
+
+    /**
+     * Name of the saved game file.
+     */
+    public static final String FILE_NAME = "savegame.sdks";
+
+    private static final int MAGIC = 0x53444B53; // "SDKS"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 24;
+    private static final long AUTOSAVE_DELAY_MILLIS = 500;
+
+    private final Path file;
+    private final ScheduledExecutorService writer;
+    private final AtomicReference<SavedGame> pending = new AtomicReference<>(); // Latest unsaved snapshot
+
+    /**
+     * Creates a store for a file. Nothing is read or written until asked.
+     *
+     * @param file the saved game file.
+     */
+    public SavedGameStore(Path file) {
+        this.file = file;
+        this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "saved-game-writer");
+            thread.setDaemon(true); // Never keep the application alive
+            return thread;
+        });
+    }
+
+    /**
+     * Reads the saved game, if there is one.
+     *
+     * @return the saved game, or an empty optional if there is none or it cannot be read.
+     */
+    public Optional<SavedGame> load() {
+        try {
+            return Optional.of(decode(ByteBuffer.wrap(Files.readAllBytes(file))));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            System.err.println("Could not read the saved game " + file + ": " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes a game right away, replacing the saved one atomically.
+     *
+     * @param game the game to save.
+     * @throws IOException if the file cannot be written; the previous save is then kept.
+     */
+    public void save(SavedGame game) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path temporary = Files.createTempFile(file.toAbsolutePath().getParent(), FILE_NAME, ".tmp");
+        try {
+            try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                ByteBuffer bytes = encode(game);
+                while (bytes.hasRemaining()) {
+                    out.write(bytes);
+                }
+                out.force(true); // On disk before it replaces the previous save
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+    }
+
+    /**
+     * Schedules a game to be saved in the background. Snapshots passed in before the write
+     * starts replace each other, so only the latest one is written.
+     *
+     * @param game the game to save.
+     */
+    public void autosave(SavedGame game) {
+        if (pending.getAndSet(game) == null) {
+            try {
+                writer.schedule(this::writePending, AUTOSAVE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                pending.set(null); // The store was closed in the meantime
+            }
+        }
+    }
+
+    /**
+     * Writes the pending snapshot now, if any, and waits until it is on disk. Meant for
+     * when the application is about to exit.
+     */
+    public void flush() {
+        try {
+            writer.submit(this::writePending).get();
+        } catch (RejectedExecutionException e) {
+            writePending(); // The writer is gone, write on this thread
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.err.println("Could not save the game: " + e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Forgets the saved game, for example once it has been solved: pending snapshots are
+     * dropped and the file is deleted in the background, after any write in progress.
+     */
+    public void discard() {
+        pending.set(null);
+        try {
+            writer.execute(() -> {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    System.err.println("Could not delete the saved game " + file + ": " + e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Closed: nothing more will be written
+        }
+    }
+
+    /**
+     * Stops the background writer. Call {@link #flush} first to keep the latest snapshot.
+     */
+    @Override
+    public void close() {
+        writer.shutdown();
+    }
+
+    /**
+     * Writes the latest pending snapshot, if any.
+     */
+    private void writePending() {
+        SavedGame game = pending.getAndSet(null);
+        if (game != null) {
+            try {
+                save(game);
+            } catch (IOException e) {
+                System.err.println("Could not save the game to " + file + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Encodes a game in the file format.
+     *
+     * @param game the game.
+     * @return a buffer ready to be written.
+     */
+    static ByteBuffer encode(SavedGame game) {
+        BoardSize boardSize = game.boardSize();
+        int size = boardSize.getSize();
+        ByteBuffer bytes = ByteBuffer.allocate(HEADER_BYTES + 2 * boardSize.getCellCount() + 4);
+        bytes.putInt(MAGIC).putInt(VERSION).putInt(size).putInt(game.difficulty().ordinal()).putLong(game.elapsedMillis());
+        for (int cell = 0; cell < boardSize.getCellCount(); cell++) {
+            int row = cell / size;
+            int col = cell % size;
+            int code = game.solution().get(row, col) | game.entries().get(row, col) << 5;
+            if (game.clues().get(row, col) != 0) code |= 1 << 10;
+            if (game.hinted()[cell]) code |= 1 << 11;
+            bytes.putShort((short) code);
+        }
+        bytes.putInt(checksum(bytes, bytes.position()));
+        return bytes.flip();
+    }
+
+    /**
+     * Decodes a game from the file format.
+     *
+     * @param bytes the content of the file.
+     * @return the game.
+     * @throws IOException if the content is not a valid saved game.
+     */
+    static SavedGame decode(ByteBuffer bytes) throws IOException {
+        if (bytes.remaining() < HEADER_BYTES || bytes.getInt() != MAGIC) {
+            throw new IOException("Not a saved game");
+        }
+        int version = bytes.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported saved game version " + version);
+        }
+        BoardSize boardSize;
+        Difficulty difficulty;
+        try {
+            boardSize = BoardSize.fromSize(bytes.getInt());
+            difficulty = Difficulty.values()[bytes.getInt()];
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new IOException("Corrupted saved game header");
+        }
+        long elapsedMillis = bytes.getLong();
+        int length = HEADER_BYTES + 2 * boardSize.getCellCount();
+        if (bytes.limit() != length + 4 || bytes.getInt(length) != checksum(bytes, length)) {
+            throw new IOException("Corrupted saved game");
+        }
+
+        int size = boardSize.getSize();
+        int[][] solution = new int[size][size];
+        int[][] clues = new int[size][size];
+        int[][] entries = new int[size][size];
+        boolean[] hinted = new boolean[boardSize.getCellCount()];
+        for (int cell = 0; cell < boardSize.getCellCount(); cell++) {
+            int code = bytes.getShort();
+            int row = cell / size;
+            int col = cell % size;
+            solution[row][col] = code & 0x1F;
+            entries[row][col] = code >>> 5 & 0x1F;
+            clues[row][col] = (code & 1 << 10) != 0 ? solution[row][col] : 0;
+            hinted[cell] = (code & 1 << 11) != 0;
+        }
+        try {
+            return new SavedGame(difficulty, Board.of(boardSize, solution), Board.of(boardSize, clues),
+                    Board.of(boardSize, entries), hinted, elapsedMillis);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Corrupted saved game: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the CRC-32 of the first bytes of a buffer.
+     */
+    private static int checksum(ByteBuffer bytes, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes.duplicate().position(0).limit(length));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Returns the store shared by the whole application, in the directory named by the
+     * {@value #DIRECTORY_PROPERTY} system property.
+     *
+     * @return the unique SavedGameStore instance.
+     */
+    public static SavedGameStore getInstance() {
+        return SavedGameStoreHolder.INSTANCE;
+    }
+
+    /**
+     * Holder class for the lazily created shared store.
+     */
+    private static class SavedGameStoreHolder {
+        private static final SavedGameStore INSTANCE = new SavedGameStore(Path.of(
+                System.getProperty(DIRECTORY_PROPERTY, Path.of(System.getProperty("user.home"), ".fpoe-sudoku").toString()),
+                FILE_NAME));
+    }
+
+}
@@ -0,0 +1,59 @@
+package org.example.fpoesudoku.models;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Lets the caller of a long search follow it and stop it cooperatively.
+ * Solvers report their progress and poll {@link #isCancelled()} every few hundred nodes, and
+ * give up as soon as it returns {@code true}: {@code solve} then reports no solution and
+ * leaves the grid untouched, and {@code enumerateSolutions} returns the solutions counted so far.
+ * <p>
+ * Parallel searches call the same monitor from several threads.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+@FunctionalInterface
+public interface SearchMonitor {
+
+    /**
+     * A monitor that never cancels.
+     */
+    SearchMonitor NONE = () -> false;
+
+    /**
+     * Number of search nodes between two calls to {@link #isCancelled()}; a power of two.
+     */
+    int POLL_INTERVAL = 1024;
+
+    /**
+     * @return {@code true} if the search should stop as soon as possible.
+     */
+    boolean isCancelled();
+
+    /**
+     * Called every {@link #POLL_INTERVAL} search nodes, just before {@link #isCancelled()}.
+     * Does nothing by default.
+     *
+     * @param depth the depth of the search at that node (the number of choices made).
+     */
+    default void onProgress(int depth) { }
+
+    /**
+     * Returns a monitor that also cancels when a condition holds, and forwards the
+     * progress to this one.
+     *
+     * @param stop the extra stop condition.
+     * @return the combined monitor.
+     */
+    default SearchMonitor orWhen(BooleanSupplier stop) {
+        SearchMonitor outer = this;
+        return new SearchMonitor() {
+            @Override
+            public boolean isCancelled() { return stop.getAsBoolean() || outer.isCancelled(); }
+
+            @Override
+            public void onProgress(int depth) { outer.onProgress(depth); }
+        };
+    }
+
+}
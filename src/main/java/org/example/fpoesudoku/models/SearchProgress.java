@@ -0,0 +1,78 @@
+package org.example.fpoesudoku.models;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+/**
+ * {@link SearchMonitor} that counts the nodes explored, remembers the deepest point the
+ * search reached and stops it on request or once a time limit has passed. It may be shared
+ * by several searches in a row (a generation runs many of them) and by parallel workers.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+public class SearchProgress implements SearchMonitor {
+
+    private final BooleanSupplier cancelRequested;
+    private final long deadline; // System.nanoTime() after which the search times out
+    private final LongAdder nodes = new LongAdder();
+    private volatile int maxDepth;
+    private volatile boolean cancelled;
+    private volatile boolean timedOut;
+
+    /**
+     * Creates a monitor with a time limit.
+     *
+     * @param cancelRequested polled on every check, cancels the search when it returns {@code true}.
+     * @param timeout         the time the search may take from now.
+     */
+    public SearchProgress(BooleanSupplier cancelRequested, Duration timeout) {
+        this.cancelRequested = cancelRequested;
+        this.deadline = System.nanoTime() + timeout.toNanos();
+    }
+
+    @Override
+    public boolean isCancelled() {
+        if (!cancelled) {
+            if (System.nanoTime() - deadline > 0) {
+                timedOut = true;
+                cancelled = true;
+            } else if (cancelRequested.getAsBoolean()) {
+                cancelled = true;
+            }
+        }
+        return cancelled;
+    }
+
+    @Override
+    public void onProgress(int depth) {
+        nodes.add(POLL_INTERVAL);
+        if (depth > maxDepth) {
+            maxDepth = depth; // A lost race only loses a transient maximum
+        }
+    }
+
+    /**
+     * Stops the search at its next check.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * @return {@code true} if the search was stopped because the time limit passed.
+     */
+    public boolean isTimedOut() { return timedOut; }
+
+    /**
+     * @return the number of search nodes explored so far, to the nearest
+     *         {@link SearchMonitor#POLL_INTERVAL}.
+     */
+    public long getNodes() { return nodes.sum(); }
+
+    /**
+     * @return the deepest point reached so far (the most choices made at once).
+     */
+    public int getMaxDepth() { return maxDepth; }
+
+}
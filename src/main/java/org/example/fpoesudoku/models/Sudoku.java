@@ -1,62 +1,86 @@
 package org.example.fpoesudoku.models;
 
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
 
 /**
- * Represents a 6x6 Sudoku puzzle and provides methods to solve and validate it.
+ * Represents a Sudoku puzzle of any supported {@link BoardSize} (6x6 by default)
+ * and provides methods to solve and validate it.
  *  @author Brandon Lasprilla Aristizabal
  *  @author Juan Miguel Manjarrez Zuluaga
  */
 public class Sudoku {
 
+    private final BoardSize boardSize;
     private int sudoku [][];
+    private final SudokuConstraints constraints;
+    private SudokuSolver solver = new BacktrackingSolver();
+    private final Random random = new Random(SudokuGenerator.newSeed()); // Order of the values tried when solving
 
     /**
      * Initializes an empty 6x6 Sudoku grid with all cells set to 0.
      */
     public Sudoku() {
-        int sudo[][] = {
-                {0, 0, 0, 0, 0, 0},
-                {0, 0, 0, 0, 0, 0},
-                {0, 0, 0, 0, 0, 0},
-                {0, 0, 0, 0, 0, 0},
-                {0, 0, 0, 0, 0, 0},
-                {0, 0, 0, 0, 0, 0}
-        };
-        sudoku = sudo;
+        this(BoardSize.SIX);
     }
 
     /**
-     * Solves the current Sudoku using backtracking.
+     * Initializes an empty Sudoku grid of the given size with all cells set to 0.
+     *
+     * @param boardSize the geometry of the board.
+     */
+    public Sudoku(BoardSize boardSize) {
+        this.boardSize = boardSize;
+        this.sudoku = new int[boardSize.getSize()][boardSize.getSize()];
+        this.constraints = new SudokuConstraints(boardSize);
+    }
+
+    /**
+     * Solves the current Sudoku with the selected solver, trying values in random order
+     * so that an empty grid becomes a different complete board every time.
      *
      * @return {@code true} if a solution is found, {@code false} otherwise.
      */
     public boolean solveSudoku() {
-        for (int row = 0; row < 6; row++) { // Iterate through each row
-            for (int col = 0; col < 6; col++) { // Iterate through each column
-                if (sudoku[row][col] == 0) { // Check for an empty cell (value 0)
-                    List<Integer> numbers = Arrays.asList(1, 2, 3, 4, 5, 6);
-                    Collections.shuffle(numbers);
-
-                    for (int value : numbers) { // Try random numbers from 1 to 6
-                        if (validMovement(row, col, value)) { // Check if the number is valid in this position
-                            sudoku[row][col] = value; // Assign a tentative number
-
-                            if (solveSudoku()) { // Recursive call to continue solving
-                                return true; // Solution found
-                            }
-
-                            // Backtraking: Reset the cell if no solution is found
-                            sudoku[row][col] = 0;
-                        }
-                    }
-                    return false; // No valid number worked, backtrack
-                }
-            }
-        }
-        return true; // All cells are filled (solution complete)
+        return solveSudoku(SearchMonitor.NONE);
+    }
+
+    /**
+     * Solves the current Sudoku like {@link #solveSudoku()}, reporting the progress of the
+     * search to a monitor and giving up as soon as it asks to cancel. Meant to run off the
+     * JavaFX thread, as the game controller does.
+     *
+     * @param monitor follows and may cancel the search.
+     * @return {@code true} if a solution is found, {@code false} if there is none or the
+     *         search was cancelled (the grid is then left unchanged).
+     */
+    public boolean solveSudoku(SearchMonitor monitor) {
+        boolean solved = solver.solve(boardSize, sudoku, random, monitor);
+        constraints.load(sudoku); // Keep the occupancy masks in sync with the filled grid
+        return solved;
+    }
+
+    /**
+     * Counts the solutions of the current grid without modifying it, stopping as soon as
+     * {@code limit} solutions are found. {@code countSolutions(2) == 1} tells whether the
+     * puzzle has a unique solution without exploring the rest of the search tree.
+     *
+     * @param limit the count at which the search stops.
+     * @return the number of solutions found (at most {@code limit}).
+     */
+    public long countSolutions(long limit) {
+        return solver.countSolutions(boardSize, sudoku, limit);
+    }
+
+    /**
+     * Visits every solution of the current grid (up to a limit) without modifying it.
+     *
+     * @param limit    the maximum number of solutions to visit.
+     * @param consumer receives a copy of every solution found.
+     * @return the number of solutions visited.
+     */
+    public long enumerateSolutions(long limit, Consumer<int[][]> consumer) {
+        return solver.enumerateSolutions(boardSize, sudoku, limit, consumer);
     }
 
     /**
@@ -65,29 +89,14 @@ public class Sudoku {
     public void showSudoku() {
         solveSudoku(); // Solve the Sudoku before displaying it
 
-        for (int row = 0; row < 6; row++) { // Iterate through each row of the Sudoku
-            for (int col = 0; col < 6; col++) { // Iterate through each column of the current row
+        for (int row = 0; row < boardSize.getSize(); row++) { // Iterate through each row of the Sudoku
+            for (int col = 0; col < boardSize.getSize(); col++) { // Iterate through each column of the current row
                 System.out.print(sudoku[row][col] + " "); // Print the value at the current position
             }
             System.out.println(); // Move to the next line after printing a row
         }
     }
 
-    /**
-     * Checks whether placing a value at a given position is valid.
-     *
-     * @param row    The row index.
-     * @param column The column index.
-     * @param value  The value to place.
-     * @return {@code true} if the move is valid, {@code false} otherwise.
-     */
-    private boolean validMovement(int row, int column, int value) {
-        // Check if the value is valid in the row, column, and sub-quadrant
-        return validateRow(row, value) &&
-            validateColumn(column, value) &&
-            validateQuadrant(row, column, value);
-    }
-
     /**
      * Validates whether a value can be placed in a specific row.
      *
@@ -97,12 +106,7 @@ public class Sudoku {
      */
     public boolean validateRow(int row, int value) {
         // Validate the existence of the value in the row
-        for (int i = 0; i < 6; i++) { // Iterate through all 6 columns in the given row
-            if (sudoku[row][i] == value) { // Check if the value already exists in the row
-                return false; // Value is not valid in this row
-            }
-        }
-        return true; // Value can be placed in this row
+        return !constraints.rowContains(row, value);
     }
 
     /**
@@ -114,16 +118,11 @@ public class Sudoku {
      */
     public boolean validateColumn(int column, int value) {
         // Validate the existence of the value in the column
-        for (int i = 0; i < 6; i++) { // Iterate through all 6 rows in the given column
-            if (sudoku[i][column] == value) { // Check if the value exists in the column
-                return false; // Value is not valid in this column
-            }
-        }
-        return true; // Value can be placed in this column
+        return !constraints.columnContains(column, value);
     }
 
     /**
-     * Validates whether a value can be placed in the corresponding 2x3 sub-quadrant.
+     * Validates whether a value can be placed in the corresponding sub-quadrant.
      *
      * @param row    The row index.
      * @param column The column index.
@@ -131,26 +130,32 @@ public class Sudoku {
      * @return {@code true} if the value does not exist in the quadrant.
      */
     public boolean validateQuadrant(int row, int column, int value) {
-        // Get the current quadrant
-        int subQuadrant = currentQuadrant(row, column);
-
-        // Calculate the starting coordinates of the sub-quadrant
-        int rowInit = ((subQuadrant - 1) / 2) * 2; // 0, 2 o 4
-        int columnInit = ((subQuadrant - 1) % 2) * 3; // 0 o 3
-
         // Validate the existence of the value in the sub-quadrant
-        for (int r = rowInit; r < rowInit + 2; r++) { // Iterate through the 2 rows of the sub-quadrant
-            for (int c = columnInit; c < columnInit + 3; c++) { // Iterate through the 3 columns of the sub-quadrant
-                if (sudoku[r][c] == value) { // The value already exists in the sub-quadrant
+        return !constraints.quadrantContains(row, column, value);
+    }
+
+    /**
+     * Checks whether a grid is a complete, valid board: no empty cell and no value
+     * repeated in any row, column or sub-quadrant.
+     *
+     * @param boardSize the geometry of the board.
+     * @param grid      the grid to check.
+     * @return {@code true} if the grid is a valid solution.
+     */
+    public static boolean isComplete(BoardSize boardSize, int[][] grid) {
+        for (int[] row : grid) {
+            for (int value : row) {
+                if (value < 1 || value > boardSize.getSize()) {
                     return false;
                 }
             }
         }
-        return true; // The value is valid in this sub-quadrant
+        return new SudokuConstraints(boardSize).load(grid);
     }
 
     /**
-     * Determines the sub-quadrant (1 to 6) of a given cell.
+     * Determines the sub-quadrant (1 to 6) of a given cell on the default 6x6 board.
+     * Other geometries use {@link BoardSize#quadrantIndex(int, int)}.
      *
      * @param row    The row index.
      * @param column The column index.
@@ -167,6 +172,39 @@ public class Sudoku {
         return (currentQuadrantRow * 2) + currentQuadrantcolumn + 1;
     }
 
+    /**
+     * Returns the geometry of this Sudoku.
+     *
+     * @return the board size.
+     */
+    public BoardSize getBoardSize() { return boardSize; }
+
+    /**
+     * Returns the engine used by {@link #solveSudoku()} and the other search methods.
+     *
+     * @return the current solver.
+     */
+    public SudokuSolver getSolver() { return solver; }
+
+    /**
+     * Seeds the order in which {@link #solveSudoku()} tries the values, so that solving the
+     * same grid with the same seed and solver always gives the same board.
+     *
+     * @param seed the seed of the value order.
+     */
+    public void setSeed(long seed) {
+        random.setSeed(seed);
+    }
+
+    /**
+     * Selects the engine used by {@link #solveSudoku()} and the other search methods.
+     *
+     * @param solver the solver to use, for example a {@link DancingLinksSolver}.
+     */
+    public void setSolver(SudokuSolver solver) {
+        this.solver = solver;
+    }
+
     /**
      * Returns the current Sudoku grid.
      *
@@ -174,13 +212,24 @@ public class Sudoku {
      */
     public int [][] getSudoku() { return sudoku; }
 
+    /**
+     * Returns an immutable snapshot of the current grid, safe to keep or share between
+     * threads while the grid changes.
+     *
+     * @return the current grid as a {@link Board}.
+     */
+    public Board toBoard() { return Board.of(boardSize, sudoku); }
+
     /**
      * Sets a custom Sudoky grid.
+     * The occupancy masks are rebuilt from the new grid, so later changes must go
+     * through this method instead of editing the array returned by {@link #getSudoku()}.
      *
      * @param sudoku A 2D array to replace the current grid.
      */
     public void setSudoku(int[][] sudoku) {
         this.sudoku = sudoku;
+        constraints.load(sudoku);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,163 @@
+package org.example.fpoesudoku.models;
+
+/**
+ * Keeps track of which values are already used in every row, column and sub-quadrant
+ * of a Sudoku grid, using one bitmask per unit.
+ * Bit {@code value} of a mask is set when that value is present in the unit, so checking
+ * whether a move is legal is a single AND instead of a scan of the grid.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+public class SudokuConstraints {
+
+    private final BoardSize boardSize;
+    private final int[] rowMasks;
+    private final int[] columnMasks;
+    private final int[] quadrantMasks;
+
+    /**
+     * Creates empty constraints for the default 6x6 board.
+     */
+    public SudokuConstraints() {
+        this(BoardSize.SIX);
+    }
+
+    /**
+     * Creates empty constraints for a board of the given geometry.
+     *
+     * @param boardSize the geometry of the board.
+     */
+    public SudokuConstraints(BoardSize boardSize) {
+        this.boardSize = boardSize;
+        int size = boardSize.getSize();
+        rowMasks = new int[size];
+        columnMasks = new int[size];
+        quadrantMasks = new int[size];
+    }
+
+    /**
+     * Rebuilds every mask from the given grid. Empty cells (value 0) are ignored.
+     *
+     * @param grid the grid to read the occupancy from.
+     * @return {@code true} if no value is repeated in any row, column or quadrant.
+     */
+    public boolean load(int[][] grid) {
+        clear();
+        boolean consistent = true;
+        int size = boardSize.getSize();
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                int value = grid[row][col];
+                if (value != 0) {
+                    consistent &= canPlace(row, col, value);
+                    place(row, col, value);
+                }
+            }
+        }
+        return consistent;
+    }
+
+    /**
+     * Empties every row, column and quadrant mask.
+     */
+    public void clear() {
+        for (int i = 0; i < rowMasks.length; i++) {
+            rowMasks[i] = 0;
+            columnMasks[i] = 0;
+            quadrantMasks[i] = 0;
+        }
+    }
+
+    /**
+     * Marks a value as used in the row, column and quadrant of the given cell.
+     *
+     * @param row    The row index.
+     * @param column The column index.
+     * @param value  The value placed in the cell.
+     */
+    public void place(int row, int column, int value) {
+        int bit = 1 << value;
+        rowMasks[row] |= bit;
+        columnMasks[column] |= bit;
+        quadrantMasks[boardSize.quadrantIndex(row, column)] |= bit;
+    }
+
+    /**
+     * Marks a value as free again in the row, column and quadrant of the given cell.
+     *
+     * @param row    The row index.
+     * @param column The column index.
+     * @param value  The value removed from the cell.
+     */
+    public void remove(int row, int column, int value) {
+        int bit = ~(1 << value);
+        rowMasks[row] &= bit;
+        columnMasks[column] &= bit;
+        quadrantMasks[boardSize.quadrantIndex(row, column)] &= bit;
+    }
+
+    /**
+     * Checks whether a value can be placed in a cell without repeating it in its row,
+     * column or quadrant.
+     *
+     * @param row    The row index.
+     * @param column The column index.
+     * @param value  The value to check.
+     * @return {@code true} if the move is legal.
+     */
+    public boolean canPlace(int row, int column, int value) {
+        return (usedMask(row, column) & (1 << value)) == 0;
+    }
+
+    /**
+     * Returns the values that can still be placed in a cell, as a mask with bit {@code value}
+     * set for every legal value.
+     *
+     * @param row    The row index.
+     * @param column The column index.
+     * @return the mask of legal values.
+     */
+    public int candidates(int row, int column) {
+        return ~usedMask(row, column) & boardSize.getAllValuesMask();
+    }
+
+    /**
+     * @param row   The row index.
+     * @param value The value to look for.
+     * @return {@code true} if the value is already used in the row.
+     */
+    public boolean rowContains(int row, int value) {
+        return (rowMasks[row] & (1 << value)) != 0;
+    }
+
+    /**
+     * @param column The column index.
+     * @param value  The value to look for.
+     * @return {@code true} if the value is already used in the column.
+     */
+    public boolean columnContains(int column, int value) {
+        return (columnMasks[column] & (1 << value)) != 0;
+    }
+
+    /**
+     * @param row    The row index of any cell in the quadrant.
+     * @param column The column index of any cell in the quadrant.
+     * @param value  The value to look for.
+     * @return {@code true} if the value is already used in the quadrant.
+     */
+    public boolean quadrantContains(int row, int column, int value) {
+        return (quadrantMasks[boardSize.quadrantIndex(row, column)] & (1 << value)) != 0;
+    }
+
+    /**
+     * Returns the union of the values used in the row, column and quadrant of a cell.
+     *
+     * @param row    The row index.
+     * @param column The column index.
+     * @return the mask of values already used by the peers of the cell.
+     */
+    private int usedMask(int row, int column) {
+        return rowMasks[row] | columnMasks[column] | quadrantMasks[boardSize.quadrantIndex(row, column)];
+    }
+
+}
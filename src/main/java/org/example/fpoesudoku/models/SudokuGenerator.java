@@ -0,0 +1,458 @@
+package org.example.fpoesudoku.models;
+
+import org.example.fpoesudoku.metrics.ClueRemovalEvent;
+import org.example.fpoesudoku.metrics.GenerateEvent;
+import org.example.fpoesudoku.metrics.Histogram;
+import org.example.fpoesudoku.metrics.Metrics;
+import org.example.fpoesudoku.metrics.Timer;
+
+import java.util.OptionalLong;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Builds playable puzzles from complete Sudoku boards.
+ * Clues are removed one at a time in random order, and a removal is kept only if the
+ * puzzle still has exactly one solution, so the stored solution is the only correct answer.
+ * <p>
+ * Most removals are proven safe without any search: if the {@link DifficultyGrader} can
+ * still complete the puzzle with logical techniques alone, its solution is unique. Only the
+ * remaining removals are checked by counting solutions (stopping at 2), and on boards larger
+ * than 12x12, where that count can take seconds, such removals are simply undone.
+ * <p>
+ * {@link #generate} targets a difficulty: it grades every candidate puzzle and retries
+ * until one matches the requested level, returning the closest one if none does.
+ * {@link Difficulty#EXPERT} puzzles come from {@link #generateMinimal}, which removes
+ * every clue it can while keeping the clue pattern symmetric.
+ * <p>
+ * A generation runs many searches; passing a {@link SearchMonitor} to
+ * {@link #generate(BoardSize, Difficulty, Random, SearchMonitor)} follows and cancels all of them.
+ * <p>
+ * Every random choice comes from the {@link Random} passed in, and the complete boards are
+ * always filled by the same Dancing Links search, whatever solver the generator was given
+ * (that one only counts solutions, and counts do not depend on the solver). So generating
+ * from a {@code new Random(seed)} is reproducible: {@link #generate(BoardSize, Difficulty, long, SearchMonitor)}
+ * returns the same puzzle for the same board size, difficulty and seed, with any solver.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+public class SudokuGenerator {
+
+    // Largest board side on which uniqueness is still checked by searching
+    private static final int MAX_SEARCH_SIZE = 12;
+
+    // Candidate puzzles tried before settling for the closest difficulty
+    private static final int SMALL_BOARD_ATTEMPTS = 50;
+    private static final int LARGE_BOARD_ATTEMPTS = 8;
+    private static final int EXPERT_ATTEMPTS = 4;
+
+    private static final Timer GENERATION_TIME = Metrics.getInstance().timer("generator.generate");
+    private static final Histogram CLUES = Metrics.getInstance().histogram("generator.clues");
+
+    // Fills the complete boards; fixed so that a seed gives the same board with any solver
+    private static final SudokuSolver SOLUTION_SOLVER = new DancingLinksSolver();
+
+    private final SudokuSolver solver;
+
+    /**
+     * Creates a generator that checks uniqueness with the Dancing Links solver,
+     * which counts solutions faster than backtracking on partially filled boards.
+     */
+    public SudokuGenerator() {
+        this(new DancingLinksSolver());
+    }
+
+    /**
+     * Creates a generator that checks uniqueness with the given solver. The complete boards
+     * are still built by the Dancing Links search, so seeds give the same puzzles as with
+     * the default generator.
+     *
+     * @param solver the solver used to count solutions.
+     */
+    public SudokuGenerator(SudokuSolver solver) {
+        this.solver = solver;
+    }
+
+    /**
+     * Generates a new puzzle of the requested difficulty, as rated by the
+     * {@link DifficultyGrader}. Candidates are random complete boards with clues removed
+     * according to the difficulty; if none of the attempts matches the level exactly,
+     * the closest candidate is returned.
+     *
+     * @param boardSize  the geometry of the board.
+     * @param difficulty the requested level.
+     * @param random     source for the boards and the removal order.
+     * @return the puzzle and its solution.
+     */
+    public Puzzle generate(BoardSize boardSize, Difficulty difficulty, Random random) {
+        return generate(boardSize, difficulty, random, SearchMonitor.NONE);
+    }
+
+    /**
+     * Generates the puzzle identified by a board size, a difficulty and a seed. The same
+     * three values always give the same puzzle, which remembers its seed.
+     *
+     * @param boardSize  the geometry of the board.
+     * @param difficulty the requested level.
+     * @param seed       the seed of every random choice of the generation.
+     * @param monitor    follows and may cancel the searches.
+     * @return the puzzle and its solution.
+     * @throws CancellationException if the monitor cancelled the generation.
+     */
+    public Puzzle generate(BoardSize boardSize, Difficulty difficulty, long seed, SearchMonitor monitor) {
+        Puzzle puzzle = generate(boardSize, difficulty, new Random(seed), monitor);
+        return new Puzzle(boardSize, puzzle.getDifficulty(), puzzle.getClues(), puzzle.getSolution(),
+                OptionalLong.of(seed));
+    }
+
+    /**
+     * Picks the seed of a new puzzle. This is the only unpredictable choice of a generation,
+     * everything else is derived from the seed.
+     *
+     * @return a random seed.
+     */
+    public static long newSeed() {
+        return ThreadLocalRandom.current().nextLong();
+    }
+
+    /**
+     * Generates a new puzzle of the requested difficulty, reporting the progress of every
+     * search to a monitor and giving up as soon as it asks to cancel.
+     *
+     * @param boardSize  the geometry of the board.
+     * @param difficulty the requested level.
+     * @param random     source for the boards and the removal order.
+     * @param monitor    follows and may cancel the searches.
+     * @return the puzzle and its solution.
+     * @throws CancellationException if the monitor cancelled the generation.
+     */
+    public Puzzle generate(BoardSize boardSize, Difficulty difficulty, Random random, SearchMonitor monitor) {
+        GenerateEvent event = new GenerateEvent();
+        event.begin();
+        long start = System.nanoTime();
+        Puzzle puzzle;
+        try {
+            puzzle = difficulty == Difficulty.EXPERT
+                    ? generateExpert(boardSize, random, monitor)
+                    : generateGraded(boardSize, difficulty, random, monitor);
+        } catch (CancellationException e) {
+            commit(event, boardSize, difficulty, null, 0); // Cancelled generations are recorded, not timed
+            throw e;
+        }
+        GENERATION_TIME.recordSince(start);
+        int clues = countClues(puzzle);
+        CLUES.record(clues);
+        commit(event, boardSize, difficulty, puzzle, clues);
+        return puzzle;
+    }
+
+    /**
+     * Counts the clues of a puzzle.
+     *
+     * @param puzzle the puzzle.
+     * @return the number of given cells.
+     */
+    private static int countClues(Puzzle puzzle) {
+        int clues = 0;
+        for (int[] row : puzzle.getClues()) {
+            for (int value : row) {
+                if (value != 0) clues++;
+            }
+        }
+        return clues;
+    }
+
+    /**
+     * Ends the Flight Recorder event of a generation and commits it if a recording wants it.
+     *
+     * @param event      the event begun with the generation.
+     * @param boardSize  the geometry of the board.
+     * @param difficulty the requested level.
+     * @param puzzle     the generated puzzle, or {@code null} if the generation was cancelled.
+     * @param clues      the number of clues of the puzzle.
+     */
+    private static void commit(GenerateEvent event, BoardSize boardSize, Difficulty difficulty, Puzzle puzzle,
+                               int clues) {
+        event.end();
+        if (!event.shouldCommit()) return;
+        event.boardSize = boardSize.getSize();
+        event.requestedDifficulty = difficulty.name();
+        event.cancelled = puzzle == null;
+        if (puzzle != null) {
+            event.difficulty = puzzle.getDifficulty().name();
+            event.clues = clues;
+        }
+        event.commit();
+    }
+
+    /**
+     * Ends the Flight Recorder event of a clue removal and commits it if a recording wants it.
+     *
+     * @param event     the event begun with the removal.
+     * @param boardSize the geometry of the board.
+     * @param strategy  {@code partial} or {@code minimal}.
+     * @param target    the cells asked to be removed, -1 for as many as possible.
+     * @param removed   the cells actually removed.
+     */
+    private static void commit(ClueRemovalEvent event, BoardSize boardSize, String strategy, int target, int removed) {
+        event.end();
+        if (!event.shouldCommit()) return;
+        event.boardSize = boardSize.getSize();
+        event.strategy = strategy;
+        event.target = target;
+        event.removed = removed;
+        event.commit();
+    }
+
+    /**
+     * Generates candidates until one is graded at the requested difficulty, or returns the
+     * closest one.
+     *
+     * @param boardSize  the geometry of the board.
+     * @param difficulty the requested level, below expert.
+     * @param random     source for the boards and the removal order.
+     * @param monitor    follows and may cancel the searches.
+     * @return the puzzle and its solution.
+     */
+    private Puzzle generateGraded(BoardSize boardSize, Difficulty difficulty, Random random, SearchMonitor monitor) {
+        DifficultyGrader grader = DifficultyGrader.forCurrentThread();
+        int attempts = boardSize.getSize() <= 9 ? SMALL_BOARD_ATTEMPTS : LARGE_BOARD_ATTEMPTS;
+
+        Puzzle best = null;
+        int bestDistance = Integer.MAX_VALUE;
+        for (int attempt = 0; attempt < attempts; attempt++) {
+            int[][] solution = newSolution(boardSize, random, monitor);
+            int[][] clues = generatePartial(boardSize, solution, difficulty.cellsToRemove(boardSize), random, monitor);
+
+            Difficulty grade = grader.grade(boardSize, clues);
+            int distance = Math.abs(grade.ordinal() - difficulty.ordinal());
+            if (distance < bestDistance) {
+                best = new Puzzle(boardSize, grade, clues, solution);
+                bestDistance = distance;
+                if (distance == 0) break;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Removes up to {@code cellsToRemove} clues from a complete board while keeping the
+     * solution unique. Fewer cells are removed if no further clue can go without allowing
+     * a second solution.
+     *
+     * @param boardSize     the geometry of the board.
+     * @param solution      the complete board; it is not modified.
+     * @param cellsToRemove the number of empty cells wanted.
+     * @param random        source for the removal order.
+     * @return a new grid with the removed cells set to 0.
+     */
+    public int[][] generatePartial(BoardSize boardSize, int[][] solution, int cellsToRemove, Random random) {
+        return generatePartial(boardSize, solution, cellsToRemove, random, SearchMonitor.NONE);
+    }
+
+    /**
+     * Removes clues like {@link #generatePartial(BoardSize, int[][], int, Random)}, under a monitor.
+     *
+     * @throws CancellationException if the monitor cancelled the generation.
+     */
+    private int[][] generatePartial(BoardSize boardSize, int[][] solution, int cellsToRemove, Random random,
+                                    SearchMonitor monitor) {
+        ClueRemovalEvent event = new ClueRemovalEvent();
+        event.begin();
+        int size = boardSize.getSize();
+        int[][] partial = BacktrackingSolver.copyOf(solution);
+
+        // Visit the cells in random order (Fisher-Yates shuffle of the row-major indices)
+        int[] order = new int[boardSize.getCellCount()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        for (int i = order.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+
+        SudokuConstraints constraints = new SudokuConstraints(boardSize);
+        constraints.load(partial);
+
+        int removed = 0;
+        for (int i = 0; i < order.length && removed < cellsToRemove; i++) {
+            int row = order[i] / size;
+            int col = order[i] % size;
+            int value = partial[row][col];
+            partial[row][col] = 0;
+            constraints.remove(row, col, value);
+
+            // A cell whose only legal value is the removed one is forced, no need to check further
+            boolean unique = constraints.candidates(row, col) == 1 << value
+                    || hasUniqueSolution(boardSize, partial, monitor);
+            checkCancelled(monitor); // A cancelled count proves nothing
+            if (unique) {
+                removed++; // Still unique, keep the cell empty
+            } else {
+                partial[row][col] = value; // A second solution appeared, put the clue back
+                constraints.place(row, col, value);
+            }
+        }
+        commit(event, boardSize, "partial", cellsToRemove, removed);
+        return partial;
+    }
+
+    /**
+     * Generates an expert puzzle: a minimal puzzle with rotational symmetry. Several
+     * candidates are built and the first one the {@link DifficultyGrader} cannot finish by
+     * logic alone is returned, or the last one if all of them can.
+     *
+     * @param boardSize the geometry of the board.
+     * @param random    source for the boards and the removal order.
+     * @param monitor   follows and may cancel the searches.
+     * @return the puzzle and its solution.
+     */
+    private Puzzle generateExpert(BoardSize boardSize, Random random, SearchMonitor monitor) {
+        DifficultyGrader grader = DifficultyGrader.forCurrentThread();
+        Puzzle puzzle = null;
+        for (int attempt = 0; attempt < EXPERT_ATTEMPTS; attempt++) {
+            int[][] solution = newSolution(boardSize, random, monitor);
+            int[][] clues = generateMinimal(boardSize, solution, Symmetry.ROTATIONAL, random, monitor);
+            puzzle = new Puzzle(boardSize, Difficulty.EXPERT, clues, solution);
+            if (grader.grade(boardSize, clues) == Difficulty.HARD) break;
+        }
+        return puzzle;
+    }
+
+    /**
+     * Removes clues from a complete board until none can be removed without allowing a
+     * second solution, so the resulting puzzle is minimal. Clues are removed a whole
+     * symmetry group at a time, so the pattern of the puzzle keeps the given symmetry.
+     * <p>
+     * Candidate groups are checked speculatively in parallel, one per core, against the
+     * current puzzle. A group whose removal breaks uniqueness is discarded for good, since
+     * removing more clues later can only add solutions. The first group that passes is
+     * removed, and the other passing groups of the batch are checked again against the new
+     * puzzle in the next batch.
+     *
+     * @param boardSize the geometry of the board.
+     * @param solution  the complete board; it is not modified.
+     * @param symmetry  the symmetry of the clue pattern.
+     * @param random    source for the removal order.
+     * @return a new grid with the removed cells set to 0.
+     */
+    public int[][] generateMinimal(BoardSize boardSize, int[][] solution, Symmetry symmetry, Random random) {
+        return generateMinimal(boardSize, solution, symmetry, random, SearchMonitor.NONE);
+    }
+
+    /**
+     * Removes clues like {@link #generateMinimal(BoardSize, int[][], Symmetry, Random)}, under a monitor.
+     *
+     * @throws CancellationException if the monitor cancelled the generation.
+     */
+    private int[][] generateMinimal(BoardSize boardSize, int[][] solution, Symmetry symmetry, Random random,
+                                    SearchMonitor monitor) {
+        ClueRemovalEvent event = new ClueRemovalEvent();
+        event.begin();
+        int size = boardSize.getSize();
+        int[][] partial = BacktrackingSolver.copyOf(solution);
+        int cleared = 0;
+
+        // Try the groups in random order (Fisher-Yates shuffle)
+        int[][] groups = symmetry.groups(boardSize);
+        for (int i = groups.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int[] tmp = groups[i];
+            groups[i] = groups[j];
+            groups[j] = tmp;
+        }
+
+        int[] pending = new int[groups.length]; // Groups not yet removed nor discarded, in order
+        for (int i = 0; i < pending.length; i++) {
+            pending[i] = i;
+        }
+        int pendingCount = pending.length;
+        int width = Runtime.getRuntime().availableProcessors();
+
+        while (pendingCount > 0) {
+            int batch = Math.min(width, pendingCount);
+            boolean[] unique = new boolean[batch];
+            IntStream.range(0, batch).parallel().forEach(i -> {
+                int[][] candidate = BacktrackingSolver.copyOf(partial);
+                for (int cell : groups[pending[i]]) {
+                    candidate[cell / size][cell % size] = 0;
+                }
+                unique[i] = hasUniqueSolution(boardSize, candidate, monitor);
+            });
+            checkCancelled(monitor); // A cancelled count proves nothing
+
+            // Remove the first passing group, drop the failed ones and keep the rest pending
+            boolean removed = false;
+            int kept = 0;
+            for (int i = 0; i < batch; i++) {
+                if (!unique[i]) continue;
+                if (!removed) {
+                    for (int cell : groups[pending[i]]) {
+                        partial[cell / size][cell % size] = 0;
+                    }
+                    cleared += groups[pending[i]].length;
+                    removed = true;
+                } else {
+                    pending[kept++] = pending[i];
+                }
+            }
+            System.arraycopy(pending, batch, pending, kept, pendingCount - batch);
+            pendingCount = kept + pendingCount - batch;
+        }
+        commit(event, boardSize, "minimal", -1, cleared);
+        return partial;
+    }
+
+    /**
+     * Checks that a puzzle has exactly one solution. A puzzle the {@link DifficultyGrader}
+     * finishes by logic alone is unique; otherwise the solutions are counted (stopping at 2),
+     * except on boards larger than 12x12 where the puzzle is treated as not unique.
+     * Safe to call from several threads at once.
+     *
+     * @param boardSize the geometry of the board.
+     * @param partial   the puzzle; it is not modified.
+     * @param monitor   follows and may cancel the count.
+     * @return {@code true} if the puzzle is known to have a single solution.
+     */
+    private boolean hasUniqueSolution(BoardSize boardSize, int[][] partial, SearchMonitor monitor) {
+        return DifficultyGrader.forCurrentThread().grade(boardSize, partial) != Difficulty.HARD
+                || (boardSize.getSize() <= MAX_SEARCH_SIZE
+                    && solver.enumerateSolutions(boardSize, partial, 2, null, monitor) == 1);
+    }
+
+    /**
+     * Builds a random complete board with {@link #SOLUTION_SOLVER}, never with the solver of
+     * the generator: which board a {@link Random} gives depends on the search that fills it.
+     *
+     * @param boardSize the geometry of the board.
+     * @param random    source for the values tried.
+     * @param monitor   follows and may cancel the search.
+     * @return the complete board.
+     * @throws CancellationException if the monitor cancelled the search.
+     */
+    private int[][] newSolution(BoardSize boardSize, Random random, SearchMonitor monitor) {
+        int[][] solution = new int[boardSize.getSize()][boardSize.getSize()];
+        if (!SOLUTION_SOLVER.solve(boardSize, solution, random, monitor)) {
+            checkCancelled(monitor);
+        }
+        return solution;
+    }
+
+    /**
+     * Stops the generation if the monitor asks to cancel.
+     *
+     * @param monitor the monitor of the generation.
+     * @throws CancellationException if it asks to cancel.
+     */
+    private static void checkCancelled(SearchMonitor monitor) {
+        if (monitor.isCancelled()) {
+            throw new CancellationException("Puzzle generation cancelled");
+        }
+    }
+
+}
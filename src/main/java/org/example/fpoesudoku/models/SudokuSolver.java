@@ -0,0 +1,84 @@
+package org.example.fpoesudoku.models;
+
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Common interface for the Sudoku solving engines.
+ * Implementations work directly on an {@code int[][]} grid (0 for empty cells) and keep no
+ * state between calls, so a single instance can be shared by several threads.
+ * <p>
+ * All engines agree on the results: a puzzle with a unique solution is solved to the same
+ * grid, {@link #countSolutions} returns the same count and {@link #enumerateSolutions}
+ * reports the same set of solutions (possibly in a different order).
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+public interface SudokuSolver {
+
+    /**
+     * Fills every empty cell of the grid with a valid solution.
+     *
+     * @param boardSize the geometry of the board.
+     * @param grid      the grid to solve in place; left unchanged if there is no solution.
+     * @param random    source used to try values in random order, or {@code null} to search
+     *                  in a fixed order.
+     * @return {@code true} if a solution was found, {@code false} otherwise.
+     */
+    default boolean solve(BoardSize boardSize, int[][] grid, Random random) {
+        return solve(boardSize, grid, random, SearchMonitor.NONE);
+    }
+
+    /**
+     * Fills every empty cell of the grid with a valid solution, giving up if the monitor
+     * asks to cancel.
+     *
+     * @param boardSize the geometry of the board.
+     * @param grid      the grid to solve in place; left unchanged if there is no solution.
+     * @param random    source used to try values in random order, or {@code null} to search
+     *                  in a fixed order.
+     * @param monitor   polled during the search to allow cancellation.
+     * @return {@code true} if a solution was found, {@code false} if there is none or the
+     *         search was cancelled.
+     */
+    boolean solve(BoardSize boardSize, int[][] grid, Random random, SearchMonitor monitor);
+
+    /**
+     * Visits the solutions of the grid, stopping after {@code limit} of them.
+     *
+     * @param boardSize the geometry of the board.
+     * @param grid      the puzzle; it is not modified.
+     * @param limit     the maximum number of solutions to visit.
+     * @param consumer  receives a fresh copy of every solution found, or {@code null} to only count.
+     * @return the number of solutions visited (at most {@code limit}).
+     */
+    default long enumerateSolutions(BoardSize boardSize, int[][] grid, long limit, Consumer<int[][]> consumer) {
+        return enumerateSolutions(boardSize, grid, limit, consumer, SearchMonitor.NONE);
+    }
+
+    /**
+     * Visits the solutions of the grid, stopping after {@code limit} of them or when the
+     * monitor asks to cancel.
+     *
+     * @param boardSize the geometry of the board.
+     * @param grid      the puzzle; it is not modified.
+     * @param limit     the maximum number of solutions to visit.
+     * @param consumer  receives a fresh copy of every solution found, or {@code null} to only count.
+     * @param monitor   polled during the search to allow cancellation.
+     * @return the number of solutions visited before the search ended.
+     */
+    long enumerateSolutions(BoardSize boardSize, int[][] grid, long limit, Consumer<int[][]> consumer, SearchMonitor monitor);
+
+    /**
+     * Counts the solutions of the grid, stopping as soon as {@code limit} is reached.
+     *
+     * @param boardSize the geometry of the board.
+     * @param grid      the puzzle; it is not modified.
+     * @param limit     the count at which the search stops.
+     * @return the number of solutions found (at most {@code limit}).
+     */
+    default long countSolutions(BoardSize boardSize, int[][] grid, long limit) {
+        return enumerateSolutions(boardSize, grid, limit, null);
+    }
+
+}
@@ -0,0 +1,67 @@
+package org.example.fpoesudoku.models;
+
+/**
+ * Symmetry of the clue pattern of a generated puzzle.
+ * The cells of the board are split into groups that are mapped onto each other by the
+ * symmetry, and the generator removes or keeps the clues of a whole group at once.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+public enum Symmetry {
+
+    NONE("Ninguna"),
+    ROTATIONAL("Rotacional"),
+    MIRROR("Espejo");
+
+    private final String label;
+
+    Symmetry(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Splits the cells of the board into the groups this symmetry maps onto each other:
+     * single cells for {@link #NONE}, a cell and its 180-degree rotation for
+     * {@link #ROTATIONAL}, and a cell and its reflection across the vertical axis for
+     * {@link #MIRROR}. Cells on the center or the axis form a group on their own.
+     *
+     * @param boardSize the geometry of the board.
+     * @return every cell (as a row-major index) in exactly one group.
+     */
+    public int[][] groups(BoardSize boardSize) {
+        int size = boardSize.getSize();
+        int cells = boardSize.getCellCount();
+        int[][] groups = new int[cells][];
+        int count = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            int image = image(size, cell);
+            if (image == cell) {
+                groups[count++] = new int[]{cell};
+            } else if (image > cell) {
+                groups[count++] = new int[]{cell, image}; // Each pair is added once, from its first cell
+            }
+        }
+        int[][] result = new int[count][];
+        System.arraycopy(groups, 0, result, 0, count);
+        return result;
+    }
+
+    /**
+     * Returns the cell a given cell is mapped to.
+     */
+    private int image(int size, int cell) {
+        int row = cell / size;
+        int col = cell % size;
+        return switch (this) {
+            case NONE -> cell;
+            case ROTATIONAL -> (size - 1 - row) * size + (size - 1 - col);
+            case MIRROR -> row * size + (size - 1 - col);
+        };
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+
+}
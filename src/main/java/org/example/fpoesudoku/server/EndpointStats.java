@@ -0,0 +1,65 @@
+package org.example.fpoesudoku.server;
+
+import org.example.fpoesudoku.metrics.Counter;
+import org.example.fpoesudoku.metrics.Histogram;
+import org.example.fpoesudoku.metrics.Metrics;
+import org.example.fpoesudoku.metrics.Timer;
+
+import java.util.Locale;
+
+/**
+ * Request counters and latencies of one endpoint of the {@link PuzzleServer}, kept in the
+ * {@link Metrics} registry as the {@code server.<endpoint>} timer and the
+ * {@code server.<endpoint>.errors} counter, with a report line focused on throughput and tail
+ * latency.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+class EndpointStats {
+
+    private final String name;
+    private final Timer latency;
+    private final Counter errors;
+
+    /**
+     * Creates the statistics of an endpoint.
+     *
+     * @param name the name of the endpoint, as shown in the report.
+     */
+    EndpointStats(String name) {
+        this.name = name;
+        this.latency = Metrics.getInstance().timer("server." + name);
+        this.errors = Metrics.getInstance().counter("server." + name + ".errors");
+    }
+
+    /**
+     * Records a request.
+     *
+     * @param elapsedNanos the time taken to answer it.
+     * @param failed       {@code true} if it was answered with an error status.
+     */
+    void record(long elapsedNanos, boolean failed) {
+        latency.record(elapsedNanos);
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * Formats one report line: requests, errors, throughput and latencies in microseconds.
+     *
+     * @param uptimeNanos the time the server has been running.
+     * @return the report line.
+     */
+    String report(long uptimeNanos) {
+        Histogram nanos = latency.getHistogram();
+        long count = nanos.count();
+        double seconds = uptimeNanos / 1e9;
+        return String.format(Locale.ROOT,
+                "%-9s requests=%d errors=%d rate=%.1f/s mean=%dus p50=%dus p99=%dus p999=%dus max=%dus",
+                name, count, errors.get(), seconds > 0 ? count / seconds : 0.0, (long) nanos.mean() / 1000,
+                nanos.percentile(0.5) / 1000, nanos.percentile(0.99) / 1000, nanos.percentile(0.999) / 1000,
+                nanos.max() / 1000);
+    }
+
+}
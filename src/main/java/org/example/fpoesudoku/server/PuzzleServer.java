@@ -0,0 +1,447 @@
+package org.example.fpoesudoku.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.example.fpoesudoku.metrics.Metrics;
+import org.example.fpoesudoku.models.BoardSize;
+import org.example.fpoesudoku.models.DancingLinksSolver;
+import org.example.fpoesudoku.models.Difficulty;
+import org.example.fpoesudoku.models.HintEngine;
+import org.example.fpoesudoku.models.Puzzle;
+import org.example.fpoesudoku.models.PuzzleFormat;
+import org.example.fpoesudoku.models.PuzzleCache;
+import org.example.fpoesudoku.models.PuzzlePool;
+import org.example.fpoesudoku.models.SearchProgress;
+import org.example.fpoesudoku.models.SudokuConstraints;
+import org.example.fpoesudoku.models.SudokuGenerator;
+import org.example.fpoesudoku.models.SudokuSolver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Small HTTP service that lets several front-ends and bots share one puzzle backend on
+ * localhost, built on the JDK's {@code com.sun.net.httpserver} so it needs no dependency.
+ * Boards travel in the {@link PuzzleFormat} one-line format, either as the {@code board}
+ * query parameter or as the body of a POST request, and every answer is plain text:
+ * <ul>
+ *     <li>{@code /generate?size=9&difficulty=medium}: a new puzzle, its solution, its
+ *     difficulty and its seed, separated by spaces. Puzzles come from the shared
+ *     {@link PuzzlePool}; with a {@code seed} parameter, the puzzle of that seed is returned
+ *     instead, from the shared {@link PuzzleCache} when it was asked for recently.</li>
+ *     <li>{@code /solve?board=...}: the solved board, or {@code unsolvable}.</li>
+ *     <li>{@code /validate?board=...}: {@code unique}, {@code multiple} or {@code none},
+ *     according to the number of solutions.</li>
+ *     <li>{@code /hint?board=...}: the row, column and value of the next logical deduction
+ *     and the technique that finds it, or {@code none}. Boards whose clues conflict get
+ *     a 400 answer.</li>
+ *     <li>{@code /stats}: the requests, throughput and latency percentiles of every endpoint,
+ *     followed by the whole {@link Metrics} report (search nodes, generation times...).</li>
+ * </ul>
+ * Invalid boards get a 400 answer, and searches that exceed the time limit a 503, so a
+ * pathological board cannot hold a worker forever.
+ * <p>
+ * Requests are served by a fixed pool of worker threads that lives as long as the server,
+ * and the engines are shared between requests: the solver and the generator keep no state,
+ * the puzzle pool keeps ready puzzles, and the logic grader is reused per worker thread.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+public class PuzzleServer implements AutoCloseable {
+
+    private static final int DEFAULT_PORT = 8080;
+    private static final int BACKLOG = 1024; // Connections waiting to be accepted
+    private static final Duration SEARCH_TIMEOUT = Duration.ofSeconds(10);
+    private static final String NODELAY_PROPERTY = "sun.net.httpserver.nodelay"; // Read when the first server starts
+
+    private static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: PuzzleServer [options]",
+            "  --port N     port to listen on, on the loopback interface (default: 8080)",
+            "  --threads N  number of worker threads (default: 4 per core)");
+
+    private final HttpServer server;
+    private final ExecutorService workers;
+    private final SudokuSolver solver = new DancingLinksSolver();
+    private final SudokuGenerator generator = new SudokuGenerator(solver);
+    private final PuzzlePool puzzlePool = PuzzlePool.getInstance();
+    private final PuzzleCache puzzleCache = PuzzleCache.getInstance();
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+    private final long startNanos = System.nanoTime();
+
+    /**
+     * Answers one request.
+     */
+    @FunctionalInterface
+    private interface Endpoint {
+
+        /**
+         * @param params the query parameters, plus {@code board} from the body of a POST.
+         * @return the body of the answer.
+         * @throws TimeoutException if a search exceeded the time limit.
+         */
+        String answer(Map<String, String> params) throws TimeoutException;
+    }
+
+    /**
+     * Creates a server listening on the loopback interface. It does not accept requests
+     * until {@link #start()} is called.
+     *
+     * @param port    the port, or 0 to pick a free one.
+     * @param threads the number of worker threads.
+     * @throws IOException if the port cannot be bound.
+     */
+    public PuzzleServer(int port, int threads) throws IOException {
+        // Headers and body go out in separate writes; without TCP_NODELAY the second one waits
+        // for the client's delayed ACK, adding about 40 ms to every answer
+        if (System.getProperty(NODELAY_PROPERTY) == null) {
+            System.setProperty(NODELAY_PROPERTY, "true");
+        }
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+        this.workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "puzzle-server-worker");
+            thread.setDaemon(true); // The server's own dispatcher thread keeps the process alive
+            return thread;
+        });
+        server.setExecutor(workers);
+
+        route("generate", this::generate);
+        route("solve", this::solve);
+        route("validate", this::validate);
+        route("hint", this::hint);
+        server.createContext("/stats", exchange -> {
+            try {
+                respond(exchange, 200, report() + System.lineSeparator() + Metrics.getInstance().report());
+            } finally {
+                exchange.close();
+            }
+        });
+        server.createContext("/", exchange -> {
+            try {
+                respond(exchange, 404, "error: unknown endpoint " + exchange.getRequestURI().getPath());
+            } finally {
+                exchange.close();
+            }
+        });
+    }
+
+    /**
+     * Starts the server.
+     *
+     * @param args the command-line options, see {@link #USAGE}.
+     */
+    public static void main(String[] args) {
+        int port = DEFAULT_PORT;
+        int threads = 4 * Runtime.getRuntime().availableProcessors();
+        try {
+            for (int i = 0; i < args.length; i += 2) {
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + args[i]);
+                }
+                switch (args[i]) {
+                    case "--port" -> port = Integer.parseInt(args[i + 1]);
+                    case "--threads" -> threads = Integer.parseInt(args[i + 1]);
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            if (threads < 1) {
+                throw new IllegalArgumentException("--threads must be at least 1");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+
+        try {
+            PuzzleServer puzzleServer = new PuzzleServer(port, threads);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                puzzleServer.close();
+                System.err.print(puzzleServer.report());
+            }, "puzzle-server-shutdown"));
+            puzzleServer.start();
+            System.err.println("Puzzle server listening on http://localhost:" + puzzleServer.getPort()
+                    + "/ with " + threads + " threads");
+        } catch (IOException e) {
+            System.err.println("Could not start the server: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * @return the port the server listens on.
+     */
+    public int getPort() { return server.getAddress().getPort(); }
+
+    /**
+     * Stops accepting requests, lets the ones in progress finish for up to a second and
+     * stops the worker threads.
+     */
+    @Override
+    public void close() {
+        server.stop(1);
+        workers.shutdown();
+        try {
+            workers.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Formats the statistics of every endpoint, one line each.
+     *
+     * @return the report.
+     */
+    public String report() {
+        long uptime = System.nanoTime() - startNanos;
+        StringBuilder report = new StringBuilder();
+        report.append(String.format(Locale.ROOT, "uptime=%.1fs%n", uptime / 1e9));
+        for (EndpointStats endpoint : stats.values()) {
+            report.append(endpoint.report(uptime)).append(System.lineSeparator());
+        }
+        return report.toString();
+    }
+
+    /**
+     * Registers an endpoint with its statistics. Every request is timed from the moment a
+     * worker picks it up until the answer is sent.
+     *
+     * @param name     the name of the endpoint, also its path.
+     * @param endpoint answers the requests.
+     */
+    private void route(String name, Endpoint endpoint) {
+        EndpointStats endpointStats = new EndpointStats(name);
+        stats.put(name, endpointStats);
+        server.createContext("/" + name, exchange -> {
+            long start = System.nanoTime();
+            int status;
+            try {
+                status = handle(exchange, endpoint);
+            } finally {
+                exchange.close();
+            }
+            endpointStats.record(System.nanoTime() - start, status != 200);
+        });
+    }
+
+    /**
+     * Reads the parameters of a request, answers it and maps the failures to HTTP statuses.
+     *
+     * @return the status sent.
+     */
+    private int handle(HttpExchange exchange, Endpoint endpoint) throws IOException {
+        String method = exchange.getRequestMethod();
+        if (!method.equals("GET") && !method.equals("POST")) {
+            return respond(exchange, 405, "error: use GET or POST");
+        }
+        String body;
+        try {
+            Map<String, String> params = parseQuery(exchange.getRequestURI().getRawQuery());
+            if (method.equals("POST")) {
+                String posted = readBody(exchange.getRequestBody()).strip();
+                if (!posted.isEmpty()) {
+                    params.put("board", posted);
+                }
+            }
+            body = endpoint.answer(params);
+        } catch (IllegalArgumentException e) {
+            return respond(exchange, 400, "error: " + e.getMessage());
+        } catch (TimeoutException e) {
+            return respond(exchange, 503, "error: " + e.getMessage());
+        } catch (RuntimeException e) {
+            System.err.println("Request " + exchange.getRequestURI() + " failed: " + e);
+            return respond(exchange, 500, "error: internal error");
+        }
+        return respond(exchange, 200, body);
+    }
+
+    /**
+     * Generates a puzzle: the one of the requested seed, or else a ready one from the pool
+     * when there is one.
+     */
+    private String generate(Map<String, String> params) throws TimeoutException {
+        BoardSize boardSize = BoardSize.fromSize(intParam(params, "size", 9));
+        Difficulty difficulty = Difficulty.valueOf(
+                params.getOrDefault("difficulty", "medium").toUpperCase(Locale.ROOT));
+        OptionalLong seed = longParam(params, "seed");
+        Puzzle puzzle = seed.isEmpty() ? puzzlePool.take(boardSize, difficulty).orElse(null) : null;
+        if (puzzle == null) {
+            SearchProgress progress = newProgress();
+            try {
+                puzzle = seed.isEmpty()
+                        ? generator.generate(boardSize, difficulty, SudokuGenerator.newSeed(), progress)
+                        : puzzleCache.get(boardSize, difficulty, seed.getAsLong(), progress);
+            } catch (CancellationException e) {
+                throw timeout(progress);
+            }
+        }
+        return PuzzleFormat.format(puzzle.getClues()) + " " + PuzzleFormat.format(puzzle.getSolution())
+                + " " + puzzle.getDifficulty().name().toLowerCase(Locale.ROOT)
+                + (puzzle.getSeed().isPresent() ? " " + puzzle.getSeed().getAsLong() : "");
+    }
+
+    /**
+     * Solves a board.
+     */
+    private String solve(Map<String, String> params) throws TimeoutException {
+        String line = boardParam(params);
+        int[][] grid = PuzzleFormat.parse(line);
+        SearchProgress progress = newProgress();
+        if (solver.solve(PuzzleFormat.sizeOf(line.length()), grid, null, progress)) {
+            return PuzzleFormat.format(grid);
+        }
+        if (progress.isTimedOut()) {
+            throw timeout(progress);
+        }
+        return "unsolvable";
+    }
+
+    /**
+     * Classifies a board by its number of solutions.
+     */
+    private String validate(Map<String, String> params) throws TimeoutException {
+        String line = boardParam(params);
+        SearchProgress progress = newProgress();
+        long solutions = solver.enumerateSolutions(PuzzleFormat.sizeOf(line.length()), PuzzleFormat.parse(line),
+                2, null, progress);
+        if (progress.isTimedOut()) {
+            throw timeout(progress);
+        }
+        return solutions == 0 ? "none" : solutions == 1 ? "unique" : "multiple";
+    }
+
+    /**
+     * Finds the next logical deduction on a board. Deductions on clues that already conflict
+     * would be meaningless, so such boards are refused.
+     */
+    private String hint(Map<String, String> params) {
+        String line = boardParam(params);
+        BoardSize boardSize = PuzzleFormat.sizeOf(line.length());
+        int[][] grid = PuzzleFormat.parse(line);
+        if (!new SudokuConstraints(boardSize).load(grid)) {
+            throw new IllegalArgumentException("the board repeats a value in a row, column or region");
+        }
+        return HintEngine.hintFor(boardSize, grid) // The validated grid is read in place
+                .map(hint -> hint.row() + " " + hint.col() + " " + hint.value() + " "
+                        + hint.technique().name().toLowerCase(Locale.ROOT))
+                .orElse("none");
+    }
+
+    /**
+     * @return a monitor that stops a search after the time limit.
+     */
+    private static SearchProgress newProgress() {
+        return new SearchProgress(() -> false, SEARCH_TIMEOUT);
+    }
+
+    /**
+     * @return the exception reported for a search that ran out of time.
+     */
+    private static TimeoutException timeout(SearchProgress progress) {
+        return new TimeoutException("search timed out after " + SEARCH_TIMEOUT.toSeconds() + " s ("
+                + progress.getNodes() + " nodes)");
+    }
+
+    /**
+     * Returns the {@code board} parameter.
+     *
+     * @throws IllegalArgumentException if it is missing.
+     */
+    private static String boardParam(Map<String, String> params) {
+        String board = params.get("board");
+        if (board == null || board.isEmpty()) {
+            throw new IllegalArgumentException("missing board");
+        }
+        return board;
+    }
+
+    /**
+     * Returns a numeric parameter, or a default value if it is missing.
+     *
+     * @throws IllegalArgumentException if it is not a number.
+     */
+    private static int intParam(Map<String, String> params, String name, int defaultValue) {
+        String value = params.get(name);
+        try {
+            return value == null ? defaultValue : Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid " + name + ": " + value);
+        }
+    }
+
+    /**
+     * Reads an optional long query parameter.
+     */
+    private static OptionalLong longParam(Map<String, String> params, String name) {
+        String value = params.get(name);
+        try {
+            return value == null ? OptionalLong.empty() : OptionalLong.of(Long.parseLong(value));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid " + name + ": " + value);
+        }
+    }
+
+    /**
+     * Decodes a raw query string into its parameters.
+     */
+    private static Map<String, String> parseQuery(String query) {
+        Map<String, String> params = new HashMap<>();
+        if (query == null || query.isEmpty()) {
+            return params;
+        }
+        for (String pair : query.split("&")) {
+            int equals = pair.indexOf('=');
+            String name = equals < 0 ? pair : pair.substring(0, equals);
+            String value = equals < 0 ? "" : pair.substring(equals + 1);
+            params.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    /**
+     * Reads a request body as text.
+     */
+    private static String readBody(InputStream body) throws IOException {
+        return new String(body.readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Sends a plain-text answer.
+     *
+     * @return the status sent.
+     */
+    private static int respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = (body + "\n").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+        return status;
+    }
+
+}
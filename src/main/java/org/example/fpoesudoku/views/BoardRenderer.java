@@ -0,0 +1,179 @@
+package org.example.fpoesudoku.views;
+
+import javafx.scene.Node;
+import org.example.fpoesudoku.models.BoardSize;
+
+/**
+ * Draws a Sudoku board and turns the player's mouse and keyboard input into cell events.
+ * A renderer keeps no game state: everything it shows is read from a {@link Cells} source,
+ * and it only redraws the cells it is told changed. It depends on the board size only, so
+ * the same renderer can show one game after another with {@link #refreshAll}.
+ * <p>
+ * Two implementations exist: {@link TextFieldBoardRenderer}, one styled control per cell,
+ * and {@link CanvasBoardRenderer}, which draws the whole board on a single canvas and is
+ * meant for the large boards. The {@value #RENDERER_PROPERTY} system property picks one
+ * ({@code textfield}, {@code canvas} or {@code auto}, the default, which uses the canvas
+ * from 16x16 up).
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+public interface BoardRenderer {
+
+    /**
+     * System property that selects the renderer.
+     */
+    String RENDERER_PROPERTY = "sudoku.renderer";
+
+    /**
+     * Smallest board drawn on a canvas in {@code auto} mode.
+     */
+    int AUTO_CANVAS_MIN_SIZE = 16;
+
+    /**
+     * What every cell of the board shows.
+     */
+    interface Cells {
+
+        /**
+         * @param row the row index.
+         * @param col the column index.
+         * @return the value of the cell, or 0 if it is empty.
+         */
+        int value(int row, int col);
+
+        /**
+         * @param row the row index.
+         * @param col the column index.
+         * @return {@code true} if the cell is a clue of the puzzle.
+         */
+        boolean isGiven(int row, int col);
+
+        /**
+         * @param row the row index.
+         * @param col the column index.
+         * @return {@code true} if the value of the cell was revealed by a hint.
+         */
+        boolean isHint(int row, int col);
+
+        /**
+         * @param row the row index.
+         * @param col the column index.
+         * @return {@code true} if the value of the cell repeats in its row, column or quadrant.
+         */
+        boolean isConflicting(int row, int col);
+
+        /**
+         * @param row the row index.
+         * @param col the column index.
+         * @return {@code true} if the cell shares a row, column or quadrant with the focused cell.
+         */
+        boolean isHighlighted(int row, int col);
+
+        /**
+         * @param row the row index.
+         * @param col the column index.
+         * @return {@code true} if the cell justifies the last hint.
+         */
+        boolean isHintPeer(int row, int col);
+
+        /**
+         * @param row the row index.
+         * @param col the column index.
+         * @return the pencil marks to show (bit {@code v} set for value {@code v}), 0 for none.
+         */
+        int notes(int row, int col);
+    }
+
+    /**
+     * Receives the input of the player.
+     */
+    interface Listener {
+
+        /**
+         * Called when a cell gets the focus, either from nowhere or straight from another cell.
+         *
+         * @param row the row index.
+         * @param col the column index.
+         */
+        void onCellFocused(int row, int col);
+
+        /**
+         * Called when the focused cell loses the focus.
+         */
+        void onFocusCleared();
+
+        /**
+         * Called when the player types or erases the value of an editable cell.
+         *
+         * @param row   the row index.
+         * @param col   the column index.
+         * @param value the new value, or 0 if the cell was erased.
+         */
+        void onValueEntered(int row, int col, int value);
+    }
+
+    /**
+     * @return the node to add to the scene.
+     */
+    Node getNode();
+
+    /**
+     * @return the geometry of the board drawn.
+     */
+    BoardSize getBoardSize();
+
+    /**
+     * Redraws one cell from the current state of its source.
+     *
+     * @param row the row index.
+     * @param col the column index.
+     */
+    void refresh(int row, int col);
+
+    /**
+     * Redraws every cell.
+     */
+    void refreshAll();
+
+    /**
+     * Creates the renderer selected by the {@value #RENDERER_PROPERTY} property for a board.
+     *
+     * @param boardSize the geometry of the board.
+     * @param cells     what every cell shows.
+     * @param listener  receives the input of the player.
+     * @return the renderer, with every cell already drawn.
+     */
+    static BoardRenderer create(BoardSize boardSize, Cells cells, Listener listener) {
+        String mode = System.getProperty(RENDERER_PROPERTY, "auto");
+        boolean canvas = switch (mode) {
+            case "canvas" -> true;
+            case "textfield" -> false;
+            default -> boardSize.getSize() >= AUTO_CANVAS_MIN_SIZE;
+        };
+        return canvas ? new CanvasBoardRenderer(boardSize, cells, listener)
+                : new TextFieldBoardRenderer(boardSize, cells, listener);
+    }
+
+    /**
+     * Returns the side of a cell in pixels, smaller for boards with more cells.
+     *
+     * @param boardSize the geometry of the board.
+     * @return the cell size in pixels.
+     */
+    static int cellSize(BoardSize boardSize) {
+        return Math.max(22, Math.min(40, 480 / boardSize.getSize()));
+    }
+
+    /**
+     * Determines whether a cell belongs to a shaded block (blocks alternate like a checkerboard).
+     *
+     * @param boardSize the geometry of the board.
+     * @param row       the row index.
+     * @param col       the column index.
+     * @return {@code true} if the cell's block is shaded.
+     */
+    static boolean isShaded(BoardSize boardSize, int row, int col) {
+        return (row / boardSize.getBoxRows() + col / boardSize.getBoxColumns()) % 2 == 0;
+    }
+
+}
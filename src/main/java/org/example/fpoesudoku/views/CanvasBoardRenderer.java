@@ -0,0 +1,359 @@
+package org.example.fpoesudoku.views;
+
+import javafx.application.Platform;
+import javafx.geometry.VPos;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+import org.example.fpoesudoku.models.BoardSize;
+
+/**
+ * Renderer that draws the whole board on a single {@link Canvas}, so a 25x25 board is one
+ * node instead of hundreds of controls with their own CSS and layout passes. It finds the
+ * clicked cell itself, keeps its own selection and reads the keyboard: digits type a value
+ * (two in a row make a two-digit value when it fits the board), Backspace or Delete erase
+ * it and the arrow keys move the selection. Like in {@link TextFieldBoardRenderer}, a typed
+ * value is only reported once no other digit could extend it, on Enter, or when the
+ * selection moves; until then it is only drawn.
+ * <p>
+ * Refreshing a cell only marks it dirty; dirty cells are redrawn together once the current
+ * event has been handled, so an edit that touches a few dozen peers costs one redraw of
+ * exactly those cells. The colors are the same as in {@link TextFieldBoardRenderer}.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+public class CanvasBoardRenderer implements BoardRenderer {
+
+    private static final int PADDING = 10;   // Space around the board
+    private static final int GAP = 1;        // Space between cells
+    private static final int BLOCK_GAP = 5;  // Extra space between quadrants
+
+    private static final Color HIGHLIGHT = Color.web("#ffcccc");
+    private static final Color HINT_PEER = Color.web("#cce5ff");
+    private static final Color EDITABLE_SHADED = Color.web("#f2f2f2");
+    private static final Color GIVEN_SHADED = Color.web("#d3d3d3");
+    private static final Color NOTES = Color.web("#707070");
+    private static final Color SELECTION = Color.web("#0096c9");
+
+    private final BoardSize boardSize;
+    private final Cells cells;
+    private final Listener listener;
+    private final Canvas canvas;
+    private final GraphicsContext graphics;
+    private final int cellSize;
+    private final Font valueFont;
+    private final Font notesFont;
+    private final boolean[] dirty; // Cells waiting to be redrawn, by row-major index
+    private boolean redrawPending;
+    private int selected = -1;     // Row-major index of the selected cell, -1 if none
+    private int typed;             // Value typed in the selected cell and not reported yet, 0 if none
+    private final String frameLabel; // Name of the renderer in the frame time log
+
+    /**
+     * Creates the canvas of a board and draws every cell.
+     *
+     * @param boardSize the geometry of the board.
+     * @param cells     what every cell shows.
+     * @param listener  receives the input of the player.
+     */
+    public CanvasBoardRenderer(BoardSize boardSize, Cells cells, Listener listener) {
+        this.boardSize = boardSize;
+        this.cells = cells;
+        this.listener = listener;
+        this.frameLabel = getClass().getSimpleName() + " " + boardSize;
+        this.cellSize = BoardRenderer.cellSize(boardSize);
+        this.valueFont = Font.font(cellSize * 9 / 20);
+        this.notesFont = Font.font("monospace", Math.max(4, cellSize * 3 / (4 * boardSize.getBoxRows())));
+        this.dirty = new boolean[boardSize.getCellCount()];
+
+        int n = boardSize.getSize();
+        double width = left(n - 1) + cellSize + PADDING;
+        double height = top(n - 1) + cellSize + PADDING;
+        this.canvas = new Canvas(width, height);
+        this.graphics = canvas.getGraphicsContext2D();
+        graphics.setTextAlign(TextAlignment.CENTER);
+        graphics.setTextBaseline(VPos.CENTER);
+
+        canvas.setFocusTraversable(true);
+        canvas.addEventHandler(MouseEvent.MOUSE_PRESSED, this::onMousePressed);
+        canvas.addEventHandler(KeyEvent.KEY_PRESSED, this::onKeyPressed);
+        canvas.addEventHandler(KeyEvent.KEY_TYPED, this::onKeyTyped);
+        canvas.focusedProperty().addListener((obs, wasFocused, isNowFocused) -> {
+            if (!isNowFocused) {
+                select(-1);
+            }
+        });
+        refreshAll();
+    }
+
+    @Override
+    public Node getNode() { return canvas; }
+
+    @Override
+    public BoardSize getBoardSize() { return boardSize; }
+
+    @Override
+    public void refresh(int row, int col) {
+        markDirty(row * boardSize.getSize() + col);
+    }
+
+    @Override
+    public void refreshAll() {
+        for (int cell = 0; cell < dirty.length; cell++) {
+            markDirty(cell);
+        }
+    }
+
+    /**
+     * Marks a cell to be redrawn, scheduling a redraw if none is pending.
+     */
+    private void markDirty(int cell) {
+        dirty[cell] = true;
+        if (!redrawPending) {
+            redrawPending = true;
+            FrameTimeLogger.getInstance().beginFrame(frameLabel);
+            FrameTimeLogger.getInstance().drawPosted(); // The frame lasts until the redraw has run
+            Platform.runLater(this::redraw);
+        }
+    }
+
+    /**
+     * Redraws every dirty cell.
+     */
+    private void redraw() {
+        long start = System.nanoTime();
+        redrawPending = false;
+        for (int cell = 0; cell < dirty.length; cell++) {
+            if (dirty[cell]) {
+                dirty[cell] = false;
+                drawCell(cell / boardSize.getSize(), cell % boardSize.getSize());
+            }
+        }
+        FrameTimeLogger.getInstance().drawFinished(start);
+    }
+
+    /**
+     * Draws a cell from the current state of its source: its background, its border, a
+     * selection frame if it is selected, and its value or its pencil marks.
+     *
+     * @param row the row index
+     * @param col the column index
+     */
+    private void drawCell(int row, int col) {
+        double x = left(col);
+        double y = top(row);
+        boolean editable = isEditable(row, col);
+
+        // Background, with the same priorities as the styled TextFields
+        Color background;
+        if (cells.isHintPeer(row, col)) {
+            background = HINT_PEER;
+        } else if (cells.isHighlighted(row, col)) {
+            background = HIGHLIGHT;
+        } else if (BoardRenderer.isShaded(boardSize, row, col)) {
+            background = editable ? EDITABLE_SHADED : GIVEN_SHADED;
+        } else {
+            background = editable ? Color.WHITE : Color.LIGHTGRAY;
+        }
+        graphics.setFill(background);
+        graphics.fillRect(x, y, cellSize, cellSize);
+        graphics.setStroke(Color.BLACK);
+        graphics.setLineWidth(1);
+        graphics.strokeRect(x + 0.5, y + 0.5, cellSize - 1, cellSize - 1);
+        if (row * boardSize.getSize() + col == selected) {
+            graphics.setStroke(SELECTION);
+            graphics.setLineWidth(2);
+            graphics.strokeRect(x + 2, y + 2, cellSize - 4, cellSize - 4);
+        }
+
+        int value = row * boardSize.getSize() + col == selected && typed != 0 ? typed : cells.value(row, col);
+        if (value != 0) {
+            graphics.setFont(valueFont);
+            graphics.setFill(cells.isConflicting(row, col) ? Color.RED
+                    : cells.isHint(row, col) ? Color.GREEN : Color.BLACK);
+            graphics.fillText(String.valueOf(value), x + cellSize / 2.0, y + cellSize / 2.0);
+            return;
+        }
+
+        // Pencil marks: every value keeps its own slot, laid out like a quadrant
+        int marks = cells.notes(row, col);
+        if (marks != 0) {
+            graphics.setFont(notesFont);
+            graphics.setFill(NOTES);
+            double slotWidth = (double) cellSize / boardSize.getBoxColumns();
+            double slotHeight = (double) cellSize / boardSize.getBoxRows();
+            for (int mark = 1; mark <= boardSize.getSize(); mark++) {
+                if ((marks & (1 << mark)) != 0) {
+                    int slot = mark - 1;
+                    graphics.fillText(String.valueOf(mark),
+                            x + (slot % boardSize.getBoxColumns() + 0.5) * slotWidth,
+                            y + (slot / boardSize.getBoxColumns() + 0.5) * slotHeight);
+                }
+            }
+        }
+    }
+
+    /**
+     * Selects the clicked cell, if the click hit one.
+     */
+    private void onMousePressed(MouseEvent event) {
+        int row = indexAt(event.getY(), boardSize.getBoxRows());
+        int col = indexAt(event.getX(), boardSize.getBoxColumns());
+        if (row >= 0 && col >= 0) {
+            canvas.requestFocus();
+            select(row * boardSize.getSize() + col);
+        }
+    }
+
+    /**
+     * Moves the selection with the arrow keys, confirms a typed value with Enter and erases
+     * the selected cell with Backspace or Delete.
+     */
+    private void onKeyPressed(KeyEvent event) {
+        if (selected < 0) {
+            return;
+        }
+        int n = boardSize.getSize();
+        int row = selected / n;
+        int col = selected % n;
+        switch (event.getCode()) {
+            case UP -> select(Math.max(0, row - 1) * n + col);
+            case DOWN -> select(Math.min(n - 1, row + 1) * n + col);
+            case LEFT -> select(row * n + Math.max(0, col - 1));
+            case RIGHT -> select(row * n + Math.min(n - 1, col + 1));
+            case ENTER -> commitTyped();
+            case BACK_SPACE, DELETE -> {
+                typed = 0;
+                enter(0);
+                markDirty(selected);
+            }
+            default -> {
+                return;
+            }
+        }
+        event.consume();
+    }
+
+    /**
+     * Types a digit into the selected cell. The digit is appended to the value being typed
+     * when the result still fits the board (so 1 then 6 gives 16), otherwise it replaces it.
+     * The value is reported at once if no digit could extend it, and kept as typed otherwise.
+     */
+    private void onKeyTyped(KeyEvent event) {
+        String character = event.getCharacter();
+        if (selected < 0 || character.length() != 1 || !Character.isDigit(character.charAt(0))) {
+            return;
+        }
+        int n = boardSize.getSize();
+        event.consume();
+        if (!isEditable(selected / n, selected % n)) {
+            return;
+        }
+        int digit = character.charAt(0) - '0';
+        int value = typed * 10 + digit;
+        if (typed == 0 || value > n) {
+            value = digit;
+        }
+        if (value < 1 || value > n) {
+            return;
+        }
+        typed = value;
+        if (value * 10 > n) {
+            commitTyped();
+        }
+        markDirty(selected);
+    }
+
+    /**
+     * Reports the value typed in the selected cell, if any.
+     */
+    private void commitTyped() {
+        if (typed != 0) {
+            int value = typed;
+            typed = 0;
+            enter(value);
+            markDirty(selected);
+        }
+    }
+
+    /**
+     * Reports a new value for the selected cell, if the player may edit it.
+     */
+    private void enter(int value) {
+        int row = selected / boardSize.getSize();
+        int col = selected % boardSize.getSize();
+        if (isEditable(row, col) && cells.value(row, col) != value) {
+            listener.onValueEntered(row, col, value);
+        }
+    }
+
+    /**
+     * Moves the selection. A move between two cells is reported as the new cell getting
+     * the focus, without clearing it first, so the listener can update only what changed.
+     *
+     * @param cell the row-major index of the new selection, or -1 to clear it
+     */
+    private void select(int cell) {
+        if (cell == selected) {
+            return;
+        }
+        if (selected >= 0) {
+            commitTyped(); // Leaving the cell confirms what was typed
+        }
+        int old = selected;
+        selected = cell;
+        if (old >= 0) {
+            markDirty(old);
+        }
+        if (cell >= 0) {
+            markDirty(cell);
+            listener.onCellFocused(cell / boardSize.getSize(), cell % boardSize.getSize());
+        } else {
+            listener.onFocusCleared();
+        }
+    }
+
+    /**
+     * @return {@code true} if the player may change the value of the cell.
+     */
+    private boolean isEditable(int row, int col) {
+        return !cells.isGiven(row, col) && !cells.isHint(row, col);
+    }
+
+    /**
+     * Returns the x coordinate of the left edge of a column.
+     */
+    private double left(int col) {
+        return PADDING + col * (cellSize + GAP) + col / boardSize.getBoxColumns() * BLOCK_GAP;
+    }
+
+    /**
+     * Returns the y coordinate of the top edge of a row.
+     */
+    private double top(int row) {
+        return PADDING + row * (cellSize + GAP) + row / boardSize.getBoxRows() * BLOCK_GAP;
+    }
+
+    /**
+     * Finds the row or column under a coordinate.
+     *
+     * @param position the x or y coordinate on the canvas
+     * @param boxSize  the columns or rows of a quadrant along that axis
+     * @return the index, or -1 if the coordinate falls on a gap or outside the board
+     */
+    private int indexAt(double position, int boxSize) {
+        for (int index = 0; index < boardSize.getSize(); index++) {
+            double start = PADDING + index * (cellSize + GAP) + index / boxSize * BLOCK_GAP;
+            if (position >= start && position < start + cellSize) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+}
@@ -0,0 +1,143 @@
+package org.example.fpoesudoku.views;
+
+import javafx.scene.Scene;
+import org.example.fpoesudoku.metrics.Metrics;
+import org.example.fpoesudoku.metrics.Timer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Measures how long the board takes to show a change, to compare the renderers.
+ * A frame starts when a renderer is first asked to refresh a cell, and ends after the CSS
+ * and layout pass of the next pulse of the scene; it includes the work of the renderer
+ * (styling the controls or drawing on the canvas) but not the GPU rendering that follows.
+ * A renderer that draws later, from {@link javafx.application.Platform#runLater}, says so
+ * with {@link #drawPosted}: its frame then ends at the first pulse after that draw, which
+ * may run after the pulse that follows the refresh.
+ * <p>
+ * Every frame is recorded in the {@code board.frame} timer of the {@link Metrics} registry,
+ * and the time the renderer itself spent drawing it in the {@code board.draw} timer.
+ * When the {@value #ENABLED_PROPERTY} system property is {@code true}, both are also
+ * summarized on the standard output every {@value #LOG_EVERY} frames, separately for every
+ * renderer and board size.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+public class FrameTimeLogger {
+
+    /**
+     * System property that turns the frame time log on.
+     */
+    public static final String ENABLED_PROPERTY = "sudoku.frameTimes";
+
+    private static final int LOG_EVERY = 50;
+
+    private final boolean enabled = Boolean.getBoolean(ENABLED_PROPERTY);
+    private final Timer frameTime = Metrics.getInstance().timer("board.frame");
+    private final Timer drawTime = Metrics.getInstance().timer("board.draw");
+    private final Map<String, Stats> stats = new HashMap<>();
+    private String label;        // Renderer of the frame in progress, null if none
+    private long frameStart;
+    private long drawNanos;      // Time spent drawing the frame in progress
+    private boolean drawPending; // Set while a draw of the frame in progress waits to run
+
+    /**
+     * Starts timing the scene, so frames end after each of its layout passes. Call once per scene.
+     *
+     * @param scene the scene that shows the board.
+     */
+    public void attach(Scene scene) {
+        scene.addPostLayoutPulseListener(this::endFrame);
+    }
+
+    /**
+     * Starts a frame, unless one is already in progress. Called by the renderers on the
+     * JavaFX application thread when a cell has to be redrawn.
+     *
+     * @param renderer the renderer and board size, as they should appear in the log.
+     */
+    public void beginFrame(String renderer) {
+        if (label == null) {
+            label = renderer;
+            frameStart = System.nanoTime();
+            drawNanos = 0;
+        }
+    }
+
+    /**
+     * Keeps the frame in progress open until {@link #drawFinished} is called, for a renderer
+     * that posts its drawing to run later.
+     */
+    public void drawPosted() {
+        if (label != null) {
+            drawPending = true;
+        }
+    }
+
+    /**
+     * Adds the time a renderer spent drawing to the frame in progress, and releases a frame
+     * kept open by {@link #drawPosted}.
+     *
+     * @param startNanos the {@link System#nanoTime()} when the drawing started.
+     */
+    public void drawFinished(long startNanos) {
+        drawNanos += System.nanoTime() - startNanos;
+        drawPending = false;
+    }
+
+    /**
+     * Ends the frame in progress, if any and if it is not waiting for a draw, records it and
+     * logs the summary of its renderer when due.
+     */
+    private void endFrame() {
+        if (label == null || drawPending) {
+            return;
+        }
+        long nanos = System.nanoTime() - frameStart;
+        String renderer = label;
+        label = null;
+        frameTime.record(nanos);
+        drawTime.record(drawNanos);
+        if (!enabled) {
+            return;
+        }
+        Stats rendererStats = stats.computeIfAbsent(renderer, key -> new Stats());
+        rendererStats.count++;
+        rendererStats.totalNanos += nanos;
+        rendererStats.maxNanos = Math.max(rendererStats.maxNanos, nanos);
+        rendererStats.drawNanos += drawNanos;
+        if (rendererStats.count % LOG_EVERY == 0) {
+            System.out.printf("Frame times of %s: %d frames, avg %.2f ms (drawing %.2f ms), max %.2f ms%n", renderer,
+                    rendererStats.count, rendererStats.totalNanos / 1e6 / rendererStats.count,
+                    rendererStats.drawNanos / 1e6 / rendererStats.count, rendererStats.maxNanos / 1e6);
+        }
+    }
+
+    /**
+     * Returns the logger shared by the whole application.
+     *
+     * @return the unique FrameTimeLogger instance.
+     */
+    public static FrameTimeLogger getInstance() {
+        return FrameTimeLoggerHolder.INSTANCE;
+    }
+
+    /**
+     * Holder class for the lazily created shared logger.
+     */
+    private static class FrameTimeLoggerHolder {
+        private static final FrameTimeLogger INSTANCE = new FrameTimeLogger();
+    }
+
+    /**
+     * Frame times recorded for one renderer.
+     */
+    private static class Stats {
+        long count;
+        long totalNanos;
+        long maxNanos;
+        long drawNanos;
+    }
+
+}
@@ -0,0 +1,72 @@
+package org.example.fpoesudoku.views;
+
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.scene.Scene;
+import javafx.scene.control.TextArea;
+import javafx.scene.text.Font;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+import org.example.fpoesudoku.metrics.Metrics;
+
+/**
+ * Window that shows the {@link Metrics} report of the running game: search nodes and
+ * backtracks, generation, validation and hint times, board frame times and so on. The report
+ * is refreshed every second while the window is open, and not at all once it is closed.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+public class StatsView extends Stage {
+
+    private static final Duration REFRESH_INTERVAL = Duration.seconds(1);
+
+    private final TextArea report = new TextArea();
+    private final Timeline refresh = new Timeline(new KeyFrame(REFRESH_INTERVAL, event -> update()));
+
+    /**
+     * Creates the statistics window, hidden.
+     */
+    public StatsView() {
+        report.setEditable(false);
+        report.setFont(Font.font("monospace", 12));
+        report.setPrefSize(720, 360);
+        refresh.setCycleCount(Timeline.INDEFINITE);
+
+        this.setTitle("Estadísticas");
+        this.setScene(new Scene(report));
+        this.setOnShown(event -> {
+            update();
+            refresh.play();
+        });
+        this.setOnHidden(event -> refresh.stop());
+    }
+
+    /**
+     * Shows the current report, keeping the scroll position.
+     */
+    private void update() {
+        double scroll = report.getScrollTop();
+        report.setText(Metrics.getInstance().report());
+        report.setScrollTop(scroll);
+    }
+
+    /**
+     * Returns a single instance of the StatsView (Singleton).
+     *
+     * @return the unique StatsView instance.
+     */
+    public static StatsView getInstance() {
+        if (StatsViewHolder.INSTANCE == null) {
+            StatsViewHolder.INSTANCE = new StatsView();
+        }
+        return StatsViewHolder.INSTANCE;
+    }
+
+    /**
+     * Holder class for the singleton instance of StatsView.
+     */
+    private static class StatsViewHolder {
+        private static StatsView INSTANCE;
+    }
+
+}
@@ -31,6 +31,9 @@ public class SudokuGameView extends Stage {
         this.setTitle("Sudoku Game");
         this.setScene(scene);
         this.setResizable(false);
+
+        // Save the game in progress when the window closes, without waiting for the autosave
+        this.setOnHidden(event -> controller.saveGame());
     }
 
     /**
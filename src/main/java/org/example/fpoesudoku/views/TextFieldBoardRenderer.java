@@ -0,0 +1,273 @@
+package org.example.fpoesudoku.views;
+
+import javafx.css.PseudoClass;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
+import javafx.scene.control.TextFormatter;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.StackPane;
+import javafx.scene.text.TextAlignment;
+import org.example.fpoesudoku.SudokuApplication;
+import org.example.fpoesudoku.models.BoardSize;
+import java.util.function.UnaryOperator;
+
+/**
+ * Renderer that shows every cell as a styled {@link TextField} in a {@link GridPane}, each
+ * one under a label for its pencil marks. Typing, focus and caret handling come from the
+ * controls themselves. A typed value is only reported once it is complete: when no other
+ * digit could extend it (at once on a 9x9 board, after "12" or "3" on a 12x12 one), on
+ * Enter, or when the field loses the focus. Typing "12" never enters a 1 on the way.
+ * <p>
+ * The fields are kept in an array indexed like the board, so refreshing a cell never
+ * searches the grid. Colors come from the {@code sudoku-board.css} stylesheet, and the
+ * state of a cell is set through pseudo-classes: JavaFX only restyles a field whose
+ * pseudo-classes actually changed, instead of parsing a new inline style every time.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+public class TextFieldBoardRenderer implements BoardRenderer {
+
+    private static final String STYLESHEET = SudokuApplication.class.getResource("sudoku-board.css").toExternalForm();
+
+    private static final PseudoClass GIVEN = PseudoClass.getPseudoClass("given");
+    private static final PseudoClass EDITABLE = PseudoClass.getPseudoClass("editable");
+    private static final PseudoClass SHADED = PseudoClass.getPseudoClass("shaded");
+    private static final PseudoClass HIGHLIGHTED = PseudoClass.getPseudoClass("highlighted");
+    private static final PseudoClass HINT = PseudoClass.getPseudoClass("hint");
+    private static final PseudoClass HINT_PEER = PseudoClass.getPseudoClass("hint-peer");
+    private static final PseudoClass CONFLICT = PseudoClass.getPseudoClass("conflict");
+
+    private final BoardSize boardSize;
+    private final Cells cells;
+    private final Listener listener;
+    private final GridPane gridPane;
+    private final TextField[] fields; // Cells of the board, in row-major order
+    private final Label[] notes;      // Pencil marks drawn over the cells, in row-major order
+    private boolean updating;         // Set while the text of a field is written from the source
+    private final String frameLabel;  // Name of the renderer in the frame time log
+
+    /**
+     * Creates the grid of a board and draws every cell.
+     *
+     * @param boardSize the geometry of the board.
+     * @param cells     what every cell shows.
+     * @param listener  receives the input of the player.
+     */
+    public TextFieldBoardRenderer(BoardSize boardSize, Cells cells, Listener listener) {
+        this.boardSize = boardSize;
+        this.cells = cells;
+        this.listener = listener;
+        this.frameLabel = getClass().getSimpleName() + " " + boardSize;
+        this.gridPane = createGridPane();
+        this.fields = new TextField[boardSize.getCellCount()];
+        this.notes = new Label[boardSize.getCellCount()];
+
+        // Loop through each cell of the board to create TextFields
+        for (int row = 0; row < boardSize.getSize(); row++) {
+            for (int col = 0; col < boardSize.getSize(); col++) {
+                TextField field = createCell(row, col);
+                Label cellNotes = createNotes();
+                StackPane stack = new StackPane(field, cellNotes);
+                gridPane.add(stack, col, row);
+                GridPane.setMargin(stack, getCellMargin(row, col));
+                fields[row * boardSize.getSize() + col] = field;
+                notes[row * boardSize.getSize() + col] = cellNotes;
+            }
+        }
+        refreshAll();
+    }
+
+    @Override
+    public Node getNode() { return gridPane; }
+
+    @Override
+    public BoardSize getBoardSize() { return boardSize; }
+
+    /**
+     * Updates the text, editability, pseudo-classes and pencil marks of a cell.
+     *
+     * @param row the row index.
+     * @param col the column index.
+     */
+    @Override
+    public void refresh(int row, int col) {
+        long start = System.nanoTime();
+        FrameTimeLogger.getInstance().beginFrame(frameLabel);
+        TextField field = fields[row * boardSize.getSize() + col];
+        int value = cells.value(row, col);
+        String text = value == 0 ? "" : String.valueOf(value);
+        if (!field.getText().equals(text)) {
+            updating = true; // Not an edit of the player
+            field.setText(text);
+            updating = false;
+        }
+        boolean editable = !cells.isGiven(row, col) && !cells.isHint(row, col);
+        field.setEditable(editable);
+        field.pseudoClassStateChanged(GIVEN, cells.isGiven(row, col));
+        field.pseudoClassStateChanged(EDITABLE, editable);
+        field.pseudoClassStateChanged(HINT, cells.isHint(row, col));
+        field.pseudoClassStateChanged(HIGHLIGHTED, cells.isHighlighted(row, col));
+        field.pseudoClassStateChanged(HINT_PEER, cells.isHintPeer(row, col));
+        field.pseudoClassStateChanged(CONFLICT, cells.isConflicting(row, col));
+        updateNotes(row, col);
+        FrameTimeLogger.getInstance().drawFinished(start);
+    }
+
+    @Override
+    public void refreshAll() {
+        for (int row = 0; row < boardSize.getSize(); row++) {
+            for (int col = 0; col < boardSize.getSize(); col++) {
+                refresh(row, col);
+            }
+        }
+    }
+
+    /**
+     * Creates and configures a GridPane layout for the Sudoku board.
+     *
+     * @return a styled and padded GridPane
+     */
+    private GridPane createGridPane() {
+        GridPane pane = new GridPane();
+        pane.setHgap(1);
+        pane.setVgap(1);
+        pane.setAlignment(Pos.CENTER);
+        pane.setPadding(new Insets(10, 10, 10, 10));
+        pane.getStyleClass().add("sudoku-board");
+        pane.getStylesheets().add(STYLESHEET);
+        return pane;
+    }
+
+    /**
+     * Creates a single TextField cell with input validation, reporting edits and focus
+     * changes to the listener. Every field gets them, clue or not, so the grid can show
+     * any puzzle of its size; clues are simply not editable.
+     *
+     * @param row the row index of the cell
+     * @param col the column index of the cell
+     * @return a configured TextField instance
+     */
+    private TextField createCell(int row, int col) {
+        TextField textField = new TextField();
+        textField.setPrefSize(BoardRenderer.cellSize(boardSize), BoardRenderer.cellSize(boardSize));
+        textField.setAlignment(Pos.CENTER);
+        textField.getStyleClass().add("sudoku-cell");
+        textField.setStyle("-fx-font-size: " + BoardRenderer.cellSize(boardSize) * 9 / 20 + "px;");
+        textField.pseudoClassStateChanged(SHADED, BoardRenderer.isShaded(boardSize, row, col));
+
+        addInputFilter(textField);
+        textField.textProperty().addListener((obs, oldText, newText) -> {
+            if (!updating && isComplete(newText)) {
+                commit(row, col);
+            }
+        });
+        textField.setOnAction(event -> commit(row, col)); // Enter confirms a partial value
+        textField.focusedProperty().addListener((obs, wasFocused, isNowFocused) -> {
+            if (isNowFocused) {
+                listener.onCellFocused(row, col);
+            } else {
+                commit(row, col); // Leaving the cell confirms what was typed
+                listener.onFocusCleared();
+            }
+        });
+        return textField;
+    }
+
+    /**
+     * Tells whether the text of a field is a finished value, one that no further digit
+     * could turn into another valid value.
+     *
+     * @param text the text of the field
+     * @return {@code true} if the text is empty or no digit can be appended to it
+     */
+    private boolean isComplete(String text) {
+        return text.isEmpty() || Integer.parseInt(text) * 10 > boardSize.getSize();
+    }
+
+    /**
+     * Reports the value typed in a field, if it differs from the value of the cell.
+     *
+     * @param row the row index
+     * @param col the column index
+     */
+    private void commit(int row, int col) {
+        String text = fields[row * boardSize.getSize() + col].getText();
+        int value = text.isEmpty() ? 0 : Integer.parseInt(text);
+        if (value != cells.value(row, col)) {
+            listener.onValueEntered(row, col, value);
+        }
+    }
+
+    /**
+     * Adds a numeric input filter that allows only numbers from 1 to the board size.
+     *
+     * @param textField the TextField to restrict input on
+     */
+    private void addInputFilter(TextField textField) {
+        int maxValue = boardSize.getSize();
+        UnaryOperator<TextFormatter.Change> filter = change -> {
+            String newText = change.getControlNewText();
+            if (newText.isEmpty()) return change;
+            if (!newText.matches("[1-9][0-9]?")) return null;
+            return Integer.parseInt(newText) <= maxValue ? change : null;
+        };
+        textField.setTextFormatter(new TextFormatter<>(filter));
+    }
+
+    /**
+     * Creates the label that shows the pencil marks of a cell. It lets mouse events through
+     * to the TextField underneath.
+     *
+     * @return a configured Label instance
+     */
+    private Label createNotes() {
+        Label label = new Label();
+        label.setMouseTransparent(true);
+        label.setTextAlignment(TextAlignment.CENTER);
+        label.getStyleClass().add("sudoku-notes");
+        label.setStyle("-fx-font-size: " + Math.max(4, BoardRenderer.cellSize(boardSize) * 3 / (4 * boardSize.getBoxRows())) + "px;");
+        return label;
+    }
+
+    /**
+     * Shows the pencil marks of a cell: every value keeps its own slot, laid out like the
+     * quadrants of the board, so the remaining values stay in place as others are ruled out.
+     *
+     * @param row the row index
+     * @param col the column index
+     */
+    private void updateNotes(int row, int col) {
+        Label label = notes[row * boardSize.getSize() + col];
+        int marks = cells.notes(row, col);
+        if (marks == 0) {
+            label.setText("");
+            return;
+        }
+        int width = String.valueOf(boardSize.getSize()).length();
+        StringBuilder text = new StringBuilder();
+        for (int value = 1; value <= boardSize.getSize(); value++) {
+            String mark = (marks & (1 << value)) != 0 ? String.valueOf(value) : "";
+            text.append(" ".repeat(width - mark.length())).append(mark);
+            if (value == boardSize.getSize()) break;
+            text.append(value % boardSize.getBoxColumns() == 0 ? "\n" : " ");
+        }
+        label.setText(text.toString());
+    }
+
+    /**
+     * Calculates cell margins to add extra spacing between Sudoku blocks.
+     *
+     * @param row the row index
+     * @param col the column index
+     * @return Insets with top and left padding for visual separation
+     */
+    private Insets getCellMargin(int row, int col) {
+        int top = (row % boardSize.getBoxRows() == 0 && row != 0) ? 5 : 0;
+        int left = (col % boardSize.getBoxColumns() == 0 && col != 0) ? 5 : 0;
+        return new Insets(top, 0, 0, left);
+    }
+
+}
@@ -0,0 +1,121 @@
+package org.example.fpoesudoku.models;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the puzzle corpus file format: puzzles of every size and level are read back as
+ * written, and broken puzzles or files are rejected.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+class PuzzleCorpusTest {
+
+    private static final int PUZZLES_PER_LEVEL = 3;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void everyBoardSizeSurvivesARoundTrip() throws IOException {
+        for (BoardSize boardSize : BoardSize.values()) {
+            Path file = directory.resolve(PuzzleCorpus.fileName(boardSize));
+            Random random = new Random(boardSize.getSize());
+            List<Puzzle> written = new ArrayList<>();
+            try (PuzzleCorpus.Writer writer = PuzzleCorpus.create(file, boardSize)) {
+                // Levels are written interleaved, the corpus groups them
+                for (int i = 0; i < PUZZLES_PER_LEVEL; i++) {
+                    for (Difficulty difficulty : Difficulty.values()) {
+                        Puzzle puzzle = samplePuzzle(boardSize, difficulty, random);
+                        writer.add(puzzle);
+                        written.add(puzzle);
+                    }
+                }
+            }
+
+            PuzzleCorpus corpus = PuzzleCorpus.open(file);
+            assertEquals(boardSize, corpus.getBoardSize());
+            assertEquals(written.size(), corpus.size());
+            long[] index = new long[Difficulty.values().length];
+            for (Puzzle expected : written) {
+                Difficulty difficulty = expected.getDifficulty();
+                assertEquals(PUZZLES_PER_LEVEL, corpus.count(difficulty));
+                Puzzle actual = corpus.get(difficulty, index[difficulty.ordinal()]++);
+                assertEquals(difficulty, actual.getDifficulty());
+                assertArrayEquals(expected.getClues(), actual.getClues(), boardSize + " " + difficulty.name());
+                assertArrayEquals(expected.getSolution(), actual.getSolution(), boardSize + " " + difficulty.name());
+            }
+        }
+    }
+
+    @Test
+    void brokenPuzzlesAreNotWritten() throws IOException {
+        Random random = new Random(1);
+        try (PuzzleCorpus.Writer writer = PuzzleCorpus.create(directory.resolve("broken.sdkc"), BoardSize.NINE)) {
+            Puzzle incomplete = samplePuzzle(BoardSize.NINE, Difficulty.EASY, random);
+            incomplete.getSolution()[8][8] = 0;
+            assertThrows(IllegalArgumentException.class, () -> writer.add(incomplete));
+
+            Puzzle wrongClue = samplePuzzle(BoardSize.NINE, Difficulty.EASY, random);
+            wrongClue.getClues()[0][0] = wrongClue.getSolution()[0][0] % 9 + 1;
+            assertThrows(IllegalArgumentException.class, () -> writer.add(wrongClue));
+
+            Puzzle otherSize = samplePuzzle(BoardSize.SIX, Difficulty.EASY, random);
+            assertThrows(IllegalArgumentException.class, () -> writer.add(otherSize));
+        }
+        assertEquals(0, PuzzleCorpus.open(directory.resolve("broken.sdkc")).size());
+    }
+
+    @Test
+    void truncatedAndForeignFilesAreRejected() throws IOException {
+        Path file = directory.resolve(PuzzleCorpus.fileName(BoardSize.NINE));
+        try (PuzzleCorpus.Writer writer = PuzzleCorpus.create(file, BoardSize.NINE)) {
+            writer.add(samplePuzzle(BoardSize.NINE, Difficulty.HARD, new Random(2)));
+        }
+        byte[] bytes = Files.readAllBytes(file);
+
+        for (int length : new int[] {0, 10, bytes.length - 1}) {
+            Path truncated = directory.resolve("truncated.sdkc");
+            Files.write(truncated, Arrays.copyOf(bytes, length));
+            assertThrows(IOException.class, () -> PuzzleCorpus.open(truncated), "length " + length);
+        }
+
+        byte[] foreign = bytes.clone();
+        foreign[0] ^= 1;
+        Path notACorpus = directory.resolve("foreign.sdkc");
+        Files.write(notACorpus, foreign);
+        assertThrows(IOException.class, () -> PuzzleCorpus.open(notACorpus));
+    }
+
+    /**
+     * Builds a random complete board with about half of its cells as clues.
+     */
+    private static Puzzle samplePuzzle(BoardSize boardSize, Difficulty difficulty, Random random) {
+        int size = boardSize.getSize();
+        int[][] solution = new int[size][size];
+        assertTrue(new DancingLinksSolver().solve(boardSize, solution, random));
+        int[][] clues = new int[size][size];
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (random.nextBoolean()) {
+                    clues[row][col] = solution[row][col];
+                }
+            }
+        }
+        return new Puzzle(boardSize, difficulty, clues, solution);
+    }
+
+}
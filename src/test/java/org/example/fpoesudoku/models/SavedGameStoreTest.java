@@ -0,0 +1,136 @@
+package org.example.fpoesudoku.models;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the saved game file format: games of every size survive a round trip, and
+ * truncated or corrupted files are rejected instead of being resumed.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+class SavedGameStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void gamesOfEverySizeSurviveARoundTrip() throws IOException {
+        for (BoardSize boardSize : BoardSize.values()) {
+            SavedGame game = sampleGame(boardSize, boardSize.ordinal());
+            assertSameGame(game, SavedGameStore.decode(SavedGameStore.encode(game)));
+        }
+    }
+
+    @Test
+    void savedGamesAreLoadedBack() throws IOException {
+        SavedGameStore store = new SavedGameStore(directory.resolve(SavedGameStore.FILE_NAME));
+        try {
+            assertTrue(store.load().isEmpty());
+            SavedGame game = sampleGame(BoardSize.NINE, 9);
+            store.save(game);
+            assertSameGame(game, store.load().orElseThrow());
+
+            // An autosave replaces the previous game once flushed
+            SavedGame later = sampleGame(BoardSize.SIX, 6);
+            store.autosave(later);
+            store.flush();
+            assertSameGame(later, store.load().orElseThrow());
+        } finally {
+            store.close();
+        }
+    }
+
+    @Test
+    void truncatedFilesAreRejected() {
+        byte[] bytes = toArray(SavedGameStore.encode(sampleGame(BoardSize.NINE, 1)));
+        for (int length = 0; length < bytes.length; length++) {
+            ByteBuffer truncated = ByteBuffer.wrap(Arrays.copyOf(bytes, length));
+            assertThrows(IOException.class, () -> SavedGameStore.decode(truncated), "length " + length);
+        }
+    }
+
+    @Test
+    void everyFlippedByteIsDetected() {
+        byte[] bytes = toArray(SavedGameStore.encode(sampleGame(BoardSize.NINE, 2)));
+        for (int i = 0; i < bytes.length; i++) {
+            byte[] corrupted = bytes.clone();
+            corrupted[i] ^= 0x5A;
+            assertThrows(IOException.class, () -> SavedGameStore.decode(ByteBuffer.wrap(corrupted)), "byte " + i);
+        }
+    }
+
+    @Test
+    void corruptedFilesAreNotLoaded() throws IOException {
+        Path file = directory.resolve(SavedGameStore.FILE_NAME);
+        byte[] bytes = toArray(SavedGameStore.encode(sampleGame(BoardSize.SIX, 3)));
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(file, bytes);
+
+        SavedGameStore store = new SavedGameStore(file);
+        try {
+            assertTrue(store.load().isEmpty());
+        } finally {
+            store.close();
+        }
+    }
+
+    /**
+     * Builds a game in progress: half of the cells are clues, some of the others hold the
+     * right value, a wrong value or a hint.
+     */
+    private static SavedGame sampleGame(BoardSize boardSize, long seed) {
+        int size = boardSize.getSize();
+        Random random = new Random(seed);
+        int[][] solution = new int[size][size];
+        assertTrue(new DancingLinksSolver().solve(boardSize, solution, random));
+
+        int[][] clues = new int[size][size];
+        int[][] entries = new int[size][size];
+        boolean[] hinted = new boolean[boardSize.getCellCount()];
+        for (int cell = 0; cell < boardSize.getCellCount(); cell++) {
+            int row = cell / size;
+            int col = cell % size;
+            switch (random.nextInt(5)) {
+                case 0, 1 -> clues[row][col] = entries[row][col] = solution[row][col];
+                case 2 -> entries[row][col] = solution[row][col];
+                case 3 -> entries[row][col] = solution[row][col] % size + 1; // A wrong value
+                default -> {
+                    entries[row][col] = solution[row][col];
+                    hinted[cell] = true;
+                }
+            }
+        }
+        return new SavedGame(Difficulty.values()[(int) (seed % Difficulty.values().length)],
+                Board.of(boardSize, solution), Board.of(boardSize, clues), Board.of(boardSize, entries),
+                hinted, 123_456 + seed);
+    }
+
+    private static void assertSameGame(SavedGame expected, SavedGame actual) {
+        assertEquals(expected.difficulty(), actual.difficulty());
+        assertEquals(expected.solution(), actual.solution());
+        assertEquals(expected.clues(), actual.clues());
+        assertEquals(expected.entries(), actual.entries());
+        assertArrayEquals(expected.hinted(), actual.hinted());
+        assertEquals(expected.elapsedMillis(), actual.elapsedMillis());
+    }
+
+    private static byte[] toArray(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+}
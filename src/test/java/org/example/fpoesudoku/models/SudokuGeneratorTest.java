@@ -0,0 +1,71 @@
+package org.example.fpoesudoku.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the promise of the generator: every puzzle has exactly one solution, the stored
+ * one, and a seed always gives the same puzzle.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+class SudokuGeneratorTest {
+
+    private static final long[] SEEDS = {1, 42, -7};
+
+    private final SudokuGenerator generator = new SudokuGenerator();
+    private final SudokuSolver solver = new DancingLinksSolver();
+
+    @Test
+    void generatedPuzzlesHaveExactlyOneSolution() {
+        for (BoardSize boardSize : BoardSize.values()) {
+            if (boardSize.getSize() > 12) continue; // Larger boards are not checked by searching
+            for (Difficulty difficulty : Difficulty.values()) {
+                for (long seed : SEEDS) {
+                    Puzzle puzzle = generator.generate(boardSize, difficulty, seed, SearchMonitor.NONE);
+                    String name = boardSize + " " + difficulty.name() + " seed " + seed;
+
+                    assertEquals(1, solver.countSolutions(boardSize, puzzle.getClues(), 2), name);
+                    int[][] solved = BacktrackingSolver.copyOf(puzzle.getClues());
+                    assertTrue(solver.solve(boardSize, solved, null), name);
+                    assertArrayEquals(puzzle.getSolution(), solved, name);
+                }
+            }
+        }
+    }
+
+    @Test
+    void aSeedAlwaysGivesTheSamePuzzle() {
+        for (Difficulty difficulty : Difficulty.values()) {
+            Puzzle first = generator.generate(BoardSize.NINE, difficulty, 42, SearchMonitor.NONE);
+            Puzzle again = new SudokuGenerator().generate(BoardSize.NINE, difficulty, 42, SearchMonitor.NONE);
+            assertArrayEquals(first.getClues(), again.getClues(), difficulty.name());
+            assertEquals(first.getDifficulty(), again.getDifficulty());
+            assertEquals(42, again.getSeed().orElseThrow());
+        }
+    }
+
+    @Test
+    void aSeedGivesTheSamePuzzleWithEverySolver() {
+        try (ParallelSolver parallel = new ParallelSolver(2)) {
+            for (SudokuSolver other : List.of(new BacktrackingSolver(), parallel)) {
+                SudokuGenerator otherGenerator = new SudokuGenerator(other);
+                for (Difficulty difficulty : Difficulty.values()) {
+                    for (long seed : SEEDS) {
+                        Puzzle expected = generator.generate(BoardSize.NINE, difficulty, seed, SearchMonitor.NONE);
+                        Puzzle actual = otherGenerator.generate(BoardSize.NINE, difficulty, seed, SearchMonitor.NONE);
+                        String name = other.getClass().getSimpleName() + " " + difficulty.name() + " seed " + seed;
+                        assertArrayEquals(expected.getClues(), actual.getClues(), name);
+                        assertArrayEquals(expected.getSolution(), actual.getSolution(), name);
+                    }
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,145 @@
+package org.example.fpoesudoku.models;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the backtracking, Dancing Links and parallel solvers agree: same solution
+ * counts, solutions that keep the clues, and no solution for grids whose clues conflict.
+ *  @author Brandon Lasprilla Aristizabal
+ *  @author Juan Miguel Manjarrez Zuluaga
+ */
+class SudokuSolverTest {
+
+    // Unique puzzles
+    private static final String UNIQUE_6X6 = "005004040010031006006150000260000000";
+    private static final String UNIQUE_9X9 =
+            "000000000905010030301042050500000300000035010004000670098000102003060094400200000";
+
+    // Puzzles with several solutions, small enough to count exhaustively
+    private static final String FIRST_ROW_6X6 = "123456000000000000000000000000000000";
+    private static final String OPEN_9X9 =
+            "000000000905010030301042050500000300000035010004000670098000102003060094000000000";
+
+    private static ParallelSolver parallel;
+    private static List<SudokuSolver> solvers;
+
+    @BeforeAll
+    static void createSolvers() {
+        parallel = new ParallelSolver(2);
+        solvers = List.of(new BacktrackingSolver(), new DancingLinksSolver(), parallel);
+    }
+
+    @AfterAll
+    static void closeSolvers() {
+        parallel.close();
+    }
+
+    @Test
+    void everySolverCountsTheCompleteFourByFourBoards() {
+        for (SudokuSolver solver : solvers) {
+            assertEquals(288, solver.countSolutions(BoardSize.FOUR, new int[4][4], Long.MAX_VALUE), name(solver));
+        }
+    }
+
+    @Test
+    void solversAgreeOnSolutionCounts() {
+        for (String puzzle : List.of(UNIQUE_6X6, UNIQUE_9X9, FIRST_ROW_6X6, OPEN_9X9)) {
+            BoardSize boardSize = PuzzleFormat.sizeOf(puzzle.length());
+            long expected = solvers.get(0).countSolutions(boardSize, PuzzleFormat.parse(puzzle), Long.MAX_VALUE);
+            for (SudokuSolver solver : solvers) {
+                int[][] grid = PuzzleFormat.parse(puzzle);
+                assertEquals(expected, solver.countSolutions(boardSize, grid, Long.MAX_VALUE), name(solver) + " " + puzzle);
+                assertArrayEquals(PuzzleFormat.parse(puzzle), grid, "counting must not modify the grid");
+            }
+        }
+        assertEquals(1, new DancingLinksSolver().countSolutions(BoardSize.NINE, PuzzleFormat.parse(UNIQUE_9X9), 2));
+        assertEquals(104, new DancingLinksSolver().countSolutions(BoardSize.NINE, PuzzleFormat.parse(OPEN_9X9),
+                Long.MAX_VALUE));
+        assertEquals(39168, new DancingLinksSolver().countSolutions(BoardSize.SIX, PuzzleFormat.parse(FIRST_ROW_6X6),
+                Long.MAX_VALUE)); // 6x6 boards divided by the orderings of the first row
+    }
+
+    @Test
+    void countsStopAtTheLimit() {
+        for (SudokuSolver solver : solvers) {
+            assertEquals(10, solver.countSolutions(BoardSize.NINE, new int[9][9], 10), name(solver));
+        }
+    }
+
+    @Test
+    void solversAgreeOnUniqueSolutions() {
+        for (String puzzle : List.of(UNIQUE_6X6, UNIQUE_9X9)) {
+            BoardSize boardSize = PuzzleFormat.sizeOf(puzzle.length());
+            int[][] expected = PuzzleFormat.parse(puzzle);
+            assertTrue(solvers.get(0).solve(boardSize, expected, null));
+            for (SudokuSolver solver : solvers) {
+                int[][] grid = PuzzleFormat.parse(puzzle);
+                assertTrue(solver.solve(boardSize, grid, new Random(1)), name(solver));
+                assertArrayEquals(expected, grid, name(solver) + " " + puzzle);
+            }
+        }
+    }
+
+    @Test
+    void solutionsKeepTheCluesAndFollowTheRules() {
+        for (String puzzle : List.of(FIRST_ROW_6X6, OPEN_9X9)) {
+            BoardSize boardSize = PuzzleFormat.sizeOf(puzzle.length());
+            int[][] clues = PuzzleFormat.parse(puzzle);
+            for (SudokuSolver solver : solvers) {
+                int[][] grid = PuzzleFormat.parse(puzzle);
+                assertTrue(solver.solve(boardSize, grid, new Random(7)), name(solver));
+                assertSolves(boardSize, clues, grid);
+                solver.enumerateSolutions(boardSize, clues, 20, solution -> assertSolves(boardSize, clues, solution));
+            }
+        }
+        for (BoardSize boardSize : BoardSize.values()) {
+            int[][] grid = new int[boardSize.getSize()][boardSize.getSize()];
+            assertTrue(new DancingLinksSolver().solve(boardSize, grid, new Random(3)), boardSize.toString());
+            assertTrue(Sudoku.isComplete(boardSize, grid), boardSize.toString());
+        }
+    }
+
+    @Test
+    void inconsistentGridsHaveNoSolution() {
+        String repeatedInRow = "11" + "0".repeat(79);
+        String repeatedInColumn = "1" + "0".repeat(8) + "1" + "0".repeat(71);
+        String repeatedInRegion = "1" + "0".repeat(9) + "1" + "0".repeat(70);
+        for (String puzzle : List.of(repeatedInRow, repeatedInColumn, repeatedInRegion)) {
+            for (SudokuSolver solver : solvers) {
+                int[][] grid = PuzzleFormat.parse(puzzle);
+                assertFalse(solver.solve(BoardSize.NINE, grid, null), name(solver) + " " + puzzle);
+                assertArrayEquals(PuzzleFormat.parse(puzzle), grid, "a failed solve must leave the grid unchanged");
+                assertEquals(0, solver.countSolutions(BoardSize.NINE, grid, 2), name(solver) + " " + puzzle);
+            }
+        }
+    }
+
+    /**
+     * Asserts that a grid is a complete board that keeps every clue of a puzzle.
+     */
+    private static void assertSolves(BoardSize boardSize, int[][] clues, int[][] grid) {
+        assertTrue(Sudoku.isComplete(boardSize, grid));
+        for (int row = 0; row < clues.length; row++) {
+            for (int col = 0; col < clues.length; col++) {
+                if (clues[row][col] != 0) {
+                    assertEquals(clues[row][col], grid[row][col], "clue at " + row + "," + col);
+                }
+            }
+        }
+    }
+
+    private static String name(SudokuSolver solver) {
+        return solver.getClass().getSimpleName();
+    }
+
+}